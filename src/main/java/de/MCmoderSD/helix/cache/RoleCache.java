@@ -0,0 +1,242 @@
+package de.MCmoderSD.helix.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import de.MCmoderSD.helix.enums.Role;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+@SuppressWarnings({"unused", "unchecked"})
+public class RoleCache {
+
+    // Constants
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 1_000_000;                        // Max cached role entries across all channels and roles
+    public static final Duration DEFAULT_REFRESH_AFTER_WRITE = Duration.ofMinutes(5);   // Reload in the background on next read after
+    public static final long MAXIMUM_OVERSIZED = 64;                                    // Max cached sets that alone exceed the maximum weight
+
+    // Associations
+    private final Loader loader;
+
+    // Cache
+    private final LoadingCache<Key, HashSet<?>> cache;  // Role and channel -> role set
+    private final LoadingCache<Key, HashSet<?>> oversized;  // Sets heavier than the whole budget, kept outside of it
+
+    // Attributes
+    private final long maximumWeight;
+    private final Duration refreshAfterWrite;
+    private final EnumMap<Role, Duration> expireAfterWrite;
+
+    // Constructor
+    public RoleCache(Loader loader) {
+        this(loader, DEFAULT_MAXIMUM_WEIGHT, DEFAULT_REFRESH_AFTER_WRITE, Map.of());
+    }
+
+    public RoleCache(Loader loader, long maximumWeight, Duration refreshAfterWrite, Map<Role, Duration> expireAfterWrite) {
+
+        // Check Parameters
+        if (loader == null) throw new IllegalArgumentException("Loader cannot be null");
+        if (maximumWeight < 1) throw new IllegalArgumentException("Maximum weight must be greater than 0");
+        if (refreshAfterWrite == null || refreshAfterWrite.isNegative() || refreshAfterWrite.isZero()) throw new IllegalArgumentException("Refresh after write must be greater than 0");
+        if (expireAfterWrite == null) throw new IllegalArgumentException("Expire after write cannot be null");
+        for (var ttl : expireAfterWrite.values()) if (ttl == null || ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("Expire after write must be greater than 0");
+
+        // Set Associations
+        this.loader = loader;
+
+        // Set Attributes
+        this.maximumWeight = maximumWeight;
+        this.refreshAfterWrite = refreshAfterWrite;
+        this.expireAfterWrite = new EnumMap<>(Role.class);
+        for (var role : Role.values()) this.expireAfterWrite.put(role, expireAfterWrite.getOrDefault(role, role.getDefaultTtl()));
+
+        // Oversized sets would be evicted right after loading, they are cached by count and reloaded against the stale set like all others
+        oversized = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_OVERSIZED)
+                .expireAfter(Expiry.writing((Key key, HashSet<?> roles) -> this.expireAfterWrite.get(key.role)))
+                .refreshAfterWrite(refreshAfterWrite)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build(new CacheLoader<>() {
+
+                    @Override
+                    public HashSet<?> load(Key key) {
+                        return loader.load(key.role, key.channel, null);
+                    }
+
+                    // Shrunk sets move back into the shared budget, null removes them from the side cache
+                    @Override
+                    public @Nullable HashSet<?> reload(Key key, HashSet<?> cached) {
+                        var roles = loader.load(key.role, key.channel, cached);
+                        if (weigh(roles) > maximumWeight) return roles;
+                        cache.put(key, roles);
+                        return null;
+                    }
+                });
+
+        // Initialize cache, one weight budget is shared by all roles, big channels weigh more
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Key key, HashSet<?> roles) -> (int) Math.min(weigh(roles), Integer.MAX_VALUE))
+                .expireAfter(Expiry.writing((Key key, HashSet<?> roles) -> this.expireAfterWrite.get(key.role)))
+                .refreshAfterWrite(refreshAfterWrite)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .recordStats()
+                .build(new CacheLoader<>() {
+
+                    @Override
+                    public HashSet<?> load(Key key) {
+                        return route(key, loader.load(key.role, key.channel, null));
+                    }
+
+                    @Override
+                    public HashSet<?> reload(Key key, HashSet<?> cached) {
+                        return route(key, loader.load(key.role, key.channel, cached));
+                    }
+                });
+    }
+
+    // Weight of a set in the shared budget
+    private static long weigh(HashSet<?> roles) {
+        return roles.size() + 1L;
+    }
+
+    // Keep a loaded set on the side if it alone exceeds the budget, the shared cache evicts it right away
+    private HashSet<?> route(Key key, HashSet<?> roles) {
+        if (weigh(roles) > maximumWeight) oversized.put(key, roles);
+        else oversized.invalidate(key);
+        return roles;
+    }
+
+    // Get cached role set, loads on miss, concurrent loads of the same set are joined
+    public <T> Set<T> get(Role role, Integer channel) {
+        var key = new Key(role, channel);
+        var roles = oversized.getIfPresent(key);
+        return Collections.unmodifiableSet((Set<T>) (roles != null ? roles : cache.get(key)));
+    }
+
+    // Get cached role set without loading
+    public <T> @Nullable Set<T> getIfPresent(Role role, Integer channel) {
+        var key = new Key(role, channel);
+        var roles = oversized.getIfPresent(key);
+        if (roles == null) roles = cache.getIfPresent(key);
+        return roles == null ? null : Collections.unmodifiableSet((Set<T>) roles);
+    }
+
+    // Reload in the background, loads if absent
+    public void refresh(Role role, Integer channel) {
+        var key = new Key(role, channel);
+        if (oversized.getIfPresent(key) != null) oversized.refresh(key);
+        else cache.refresh(key);
+    }
+
+    public void put(Role role, Integer channel, HashSet<?> roles) {
+        if (roles == null) throw new IllegalArgumentException("Roles cannot be null");
+        var key = new Key(role, channel);
+        if (weigh(route(key, roles)) > maximumWeight) cache.invalidate(key);
+        else cache.put(key, roles);
+    }
+
+    public void invalidate(Role role, Integer channel) {
+        var key = new Key(role, channel);
+        oversized.invalidate(key);
+        cache.invalidate(key);
+    }
+
+    public void invalidateAll(Role role) {
+        oversized.asMap().keySet().removeIf(key -> key.role == role);
+        cache.asMap().keySet().removeIf(key -> key.role == role);
+    }
+
+    public void invalidateAll() {
+        oversized.invalidateAll();
+        cache.invalidateAll();
+    }
+
+    // Snapshot of all cached sets of one role
+    public <T> HashMap<Integer, Set<T>> asMap(Role role) {
+        var map = new HashMap<Integer, Set<T>>();
+        cache.asMap().forEach((key, roles) -> {
+            if (key.role == role) map.put(key.channel, Collections.unmodifiableSet((Set<T>) roles));
+        });
+        oversized.asMap().forEach((key, roles) -> {
+            if (key.role == role) map.put(key.channel, Collections.unmodifiableSet((Set<T>) roles));
+        });
+        return map;
+    }
+
+    // Loads the role set of a channel, cached is the previous set on background reloads
+    @FunctionalInterface
+    public interface Loader {
+        HashSet<?> load(Role role, Integer channel, @Nullable HashSet<?> cached);
+    }
+
+    // Role and channel
+    private static class Key {
+
+        // Attributes
+        private final Role role;
+        private final Integer channel;
+
+        // Constructor
+        private Key(Role role, Integer channel) {
+            if (role == null) throw new IllegalArgumentException("Role cannot be null");
+            if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
+            this.role = role;
+            this.channel = channel;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key key && role == key.role && channel.equals(key.channel);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(role, channel);
+        }
+    }
+
+    // Getter
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public Duration getRefreshAfterWrite() {
+        return refreshAfterWrite;
+    }
+
+    public Duration getExpireAfterWrite(Role role) {
+        return expireAfterWrite.get(role);
+    }
+
+    // Cached role entries, counts against the maximum weight
+    public long getWeight() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    public long size() {
+        return cache.estimatedSize() + oversized.estimatedSize();
+    }
+
+    // Cached sets that alone exceed the maximum weight
+    public long getOversizedCount() {
+        return oversized.estimatedSize();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,198 @@
+package de.MCmoderSD.helix.cache;
+
+import com.github.twitch4j.helix.TwitchHelix;
+import com.github.twitch4j.helix.domain.User;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings("unused")
+public class UserBatcher {
+
+    // Constants
+    public static final Integer LIMIT = 100;                                // Max 100 IDs and logins per request
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(10);    // Time to collect overlapping lookups
+
+    // Associations
+    private final TwitchHelix helix;
+    private final UserCache userCache;
+
+    // Executors
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+
+    // Attributes
+    private final Duration window;
+    private HashMap<Integer, CompletableFuture<User>> pendingIds;
+    private HashMap<String, CompletableFuture<User>> pendingLogins;
+    private final HashMap<Integer, CompletableFuture<User>> inFlightIds;
+    private final HashMap<String, CompletableFuture<User>> inFlightLogins;
+    private ScheduledFuture<?> scheduledFlush;
+
+    // Constructor
+    public UserBatcher(TwitchHelix helix, UserCache userCache) {
+        this(helix, userCache, DEFAULT_WINDOW);
+    }
+
+    public UserBatcher(TwitchHelix helix, UserCache userCache, Duration window) {
+
+        // Check Parameters
+        if (helix == null) throw new IllegalArgumentException("TwitchHelix cannot be null");
+        if (userCache == null) throw new IllegalArgumentException("UserCache cannot be null");
+        if (window == null || window.isNegative()) throw new IllegalArgumentException("Window cannot be null or negative");
+
+        // Set Associations
+        this.helix = helix;
+        this.userCache = userCache;
+
+        // Set Attributes
+        this.window = window;
+        pendingIds = new HashMap<>();
+        pendingLogins = new HashMap<>();
+        inFlightIds = new HashMap<>();
+        inFlightLogins = new HashMap<>();
+
+        // Initialize Executors
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("user-batcher").factory());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // Queue lookup by ID
+    public CompletableFuture<User> getUser(Integer id) {
+
+        // Check Parameters
+        if (id == null || id < 1) throw new IllegalArgumentException("ID cannot be null or less than 1");
+
+        // Join pending or in-flight lookup, otherwise queue a new one
+        synchronized (this) {
+            var future = pendingIds.get(id);
+            if (future == null) future = inFlightIds.get(id);
+            if (future != null) return future;
+            future = new CompletableFuture<>();
+            pendingIds.put(id, future);
+            schedule();
+            return future;
+        }
+    }
+
+    // Queue lookup by name
+    public CompletableFuture<User> getUser(String username) {
+
+        // Check Parameters
+        if (username == null || username.isBlank() || username.contains(" ")) throw new IllegalArgumentException("Invalid username: " + username);
+
+        // Join pending or in-flight lookup, otherwise queue a new one
+        var login = username.toLowerCase();
+        synchronized (this) {
+            var future = pendingLogins.get(login);
+            if (future == null) future = inFlightLogins.get(login);
+            if (future != null) return future;
+            future = new CompletableFuture<>();
+            pendingLogins.put(login, future);
+            schedule();
+            return future;
+        }
+    }
+
+    // Flush when full or when no other lookup overlaps, otherwise once the window has passed
+    private void schedule() {
+        var pending = pendingIds.size() + pendingLogins.size();
+        var idle = pending == 1 && scheduledFlush == null && inFlightIds.isEmpty() && inFlightLogins.isEmpty();
+        if (pending >= LIMIT || idle) {
+            if (scheduledFlush != null) scheduledFlush.cancel(false);
+            scheduledFlush = null;
+            dispatch();
+        } else if (scheduledFlush == null) scheduledFlush = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void flush() {
+        scheduledFlush = null;
+        if (!pendingIds.isEmpty() || !pendingLogins.isEmpty()) dispatch();
+    }
+
+    // Hand the current batch to a worker and start a new one
+    private void dispatch() {
+        var ids = pendingIds;
+        var logins = pendingLogins;
+        pendingIds = new HashMap<>();
+        pendingLogins = new HashMap<>();
+        inFlightIds.putAll(ids);
+        inFlightLogins.putAll(logins);
+        executor.execute(() -> load(ids, logins));
+    }
+
+    private void load(HashMap<Integer, CompletableFuture<User>> ids, HashMap<String, CompletableFuture<User>> logins) {
+        try {
+
+            // Complete lookups from the directory
+            for (var user : userCache.loadUsersByIDs(ids.keySet())) complete(user, ids, logins);
+            for (var user : userCache.loadUsersByName(logins.keySet())) complete(user, ids, logins);
+
+            // Remaining lookups
+            var missingIds = ids.entrySet().stream().filter(entry -> !entry.getValue().isDone()).map(entry -> String.valueOf(entry.getKey())).toList();
+            var missingLogins = logins.entrySet().stream().filter(entry -> !entry.getValue().isDone()).map(entry -> entry.getKey()).toList();
+            if (missingIds.isEmpty() && missingLogins.isEmpty()) return;
+
+            // Get users
+            var userList = helix.getUsers(
+                    null,                                           // App Token
+                    missingIds.isEmpty() ? null : missingIds,       // IDs
+                    missingLogins.isEmpty() ? null : missingLogins  // Logins
+            ).execute();
+
+            // Check Response
+            if (userList == null || userList.getUsers() == null) throw new IllegalStateException("Failed to get users");
+
+            // Complete lookups
+            userCache.putAll(userList.getUsers());
+            for (var user : userList.getUsers()) complete(user, ids, logins);
+
+            // Remember and fail unresolved lookups
+            ids.forEach((id, future) -> {
+                if (future.isDone()) return;
+                userCache.putMissing(id);
+                future.completeExceptionally(new IllegalStateException("No user found with ID: " + id));
+            });
+            logins.forEach((login, future) -> {
+                if (future.isDone()) return;
+                userCache.putMissing(login);
+                future.completeExceptionally(new IllegalStateException("No user found: " + login));
+            });
+
+        } catch (Exception e) {
+            ids.values().forEach(future -> future.completeExceptionally(e));
+            logins.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            synchronized (this) {
+                ids.forEach(inFlightIds::remove);
+                logins.forEach(inFlightLogins::remove);
+            }
+        }
+    }
+
+    private static void complete(User user, HashMap<Integer, CompletableFuture<User>> ids, HashMap<String, CompletableFuture<User>> logins) {
+        var idFuture = ids.get(Integer.parseInt(user.getId()));
+        var loginFuture = logins.get(user.getLogin().toLowerCase());
+        if (idFuture != null) idFuture.complete(user);
+        if (loginFuture != null) loginFuture.complete(user);
+    }
+
+    // Getter
+    public Duration getWindow() {
+        return window;
+    }
+
+    public synchronized int getPendingCount() {
+        return pendingIds.size() + pendingLogins.size();
+    }
+
+    public synchronized int getInFlightCount() {
+        return inFlightIds.size() + inFlightLogins.size();
+    }
+}
@@ -0,0 +1,271 @@
+package de.MCmoderSD.helix.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.twitch4j.helix.domain.User;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+@SuppressWarnings("unused")
+public class UserCache {
+
+    // Constants
+    public static final long DEFAULT_MAXIMUM_SIZE = 100_000;                        // Max cached users
+    public static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofHours(1);  // Time to live
+    public static final long DEFAULT_NEGATIVE_MAXIMUM_SIZE = 10_000;                // Max cached unknown users
+    public static final Duration DEFAULT_NEGATIVE_EXPIRE = Duration.ofMinutes(5);   // Time to live of unknown users
+
+    // Cache
+    private final Cache<Integer, User> idCache;     // ID -> User
+    private final Cache<String, User> loginCache;   // Login (lowercase) -> User
+
+    // Attributes
+    private final long maximumSize;
+
+    // Negative Cache
+    private final Cache<Integer, Boolean> missingIds;       // Unknown IDs
+    private final Cache<String, Boolean> missingLogins;     // Unknown logins (lowercase)
+
+    // Persistent Directory
+    private volatile @Nullable UserDirectory directory;
+
+    // Constructor
+    public UserCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_WRITE, DEFAULT_NEGATIVE_MAXIMUM_SIZE, DEFAULT_NEGATIVE_EXPIRE);
+    }
+
+    public UserCache(long maximumSize, Duration expireAfterWrite) {
+        this(maximumSize, expireAfterWrite, DEFAULT_NEGATIVE_MAXIMUM_SIZE, DEFAULT_NEGATIVE_EXPIRE);
+    }
+
+    public UserCache(long maximumSize, Duration expireAfterWrite, long negativeMaximumSize, Duration negativeExpire) {
+
+        // Check Parameters
+        if (maximumSize < 1) throw new IllegalArgumentException("Maximum size must be greater than 0");
+        if (expireAfterWrite == null || expireAfterWrite.isNegative() || expireAfterWrite.isZero()) throw new IllegalArgumentException("Expire after write must be greater than 0");
+        if (negativeMaximumSize < 1) throw new IllegalArgumentException("Negative maximum size must be greater than 0");
+        if (negativeExpire == null || negativeExpire.isNegative() || negativeExpire.isZero()) throw new IllegalArgumentException("Negative expire must be greater than 0");
+
+        // Set Attributes
+        this.maximumSize = maximumSize;
+
+        // Initialize caches
+        idCache = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).build();
+        loginCache = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).build();
+
+        // Initialize negative caches
+        missingIds = Caffeine.newBuilder().maximumSize(negativeMaximumSize).expireAfterWrite(negativeExpire).recordStats().build();
+        missingLogins = Caffeine.newBuilder().maximumSize(negativeMaximumSize).expireAfterWrite(negativeExpire).recordStats().build();
+    }
+
+    // Get cached user with ID
+    public @Nullable User getUser(Integer id) {
+        if (id == null) return null;
+        return idCache.getIfPresent(id);
+    }
+
+    // Get cached user with name
+    public @Nullable User getUser(String username) {
+
+        // Check Parameters
+        if (username == null || username.isBlank()) return null;
+
+        // Get user
+        var login = username.toLowerCase();
+        var user = loginCache.getIfPresent(login);
+        if (user == null) return null;
+
+        // Drop stale index entry after rename
+        if (!login.equals(user.getLogin().toLowerCase())) {
+            loginCache.invalidate(login);
+            return null;
+        }
+
+        // Return user
+        return user;
+    }
+
+    // Get cached users with IDs, missing IDs are skipped
+    public HashMap<Integer, User> getUsersByIDs(Set<Integer> ids) {
+        HashMap<Integer, User> users = HashMap.newHashMap(ids.size());
+        for (var id : ids) {
+            var user = getUser(id);
+            if (user != null) users.put(id, user);
+        }
+        return users;
+    }
+
+    // Get cached users with names, missing names are skipped
+    public HashMap<String, User> getUsersByName(Set<String> usernames) {
+        HashMap<String, User> users = HashMap.newHashMap(usernames.size());
+        for (var username : usernames) {
+            var user = getUser(username);
+            if (user != null) users.put(username.toLowerCase(), user);
+        }
+        return users;
+    }
+
+    // Add or update user, the directory buffers the write
+    public void put(User user) {
+        if (!cache(user)) return;
+        var directory = this.directory;
+        if (directory != null) directory.save(List.of(user));
+    }
+
+    public void putAll(Collection<User> users) {
+
+        // Check Parameters
+        if (users == null || users.isEmpty()) return;
+
+        // Update caches
+        var stored = new ArrayList<User>(users.size());
+        for (var user : users) if (cache(user)) stored.add(user);
+
+        // Write through in one batch
+        var directory = this.directory;
+        if (directory != null) directory.save(stored);
+    }
+
+    // Add or update user in memory only
+    private boolean cache(User user) {
+
+        // Check Parameters
+        if (user == null || user.getId() == null || user.getLogin() == null) return false;
+
+        // Update caches
+        var id = Integer.parseInt(user.getId());
+        var login = user.getLogin().toLowerCase();
+        idCache.put(id, user);
+        loginCache.put(login, user);
+
+        // User exists now
+        missingIds.invalidate(id);
+        missingLogins.invalidate(login);
+        return true;
+    }
+
+    // Load stored users with IDs into the cache
+    public List<User> loadUsersByIDs(Collection<Integer> ids) {
+        var directory = this.directory;
+        if (directory == null || ids == null || ids.isEmpty()) return List.of();
+        var users = directory.getUsersByIDs(ids);
+        for (var user : users) cache(user);
+        return users;
+    }
+
+    // Load stored users with names into the cache
+    public List<User> loadUsersByName(Collection<String> usernames) {
+        var directory = this.directory;
+        if (directory == null || usernames == null || usernames.isEmpty()) return List.of();
+        var users = directory.getUsersByName(usernames);
+        for (var user : users) cache(user);
+        return users;
+    }
+
+    // Fill the cache with the most recently seen stored users in the background, never more than the cache holds
+    public CompletableFuture<Integer> warmUp(int limit) {
+        var directory = this.directory;
+        if (directory == null || limit < 1) return CompletableFuture.completedFuture(0);
+        return CompletableFuture.supplyAsync(() -> {
+            var users = directory.getRecentUsers((int) Math.min(limit, maximumSize));
+            for (var user : users) if (idCache.getIfPresent(Integer.parseInt(user.getId())) == null) cache(user); // Keep users fetched meanwhile
+            return users.size();
+        }, task -> Thread.ofVirtual().name("user-warm-up").start(task));
+    }
+
+    // Remove user
+    public void invalidate(Integer id) {
+
+        // Check Parameters
+        if (id == null) return;
+
+        // Remove from both indices
+        var user = idCache.getIfPresent(id);
+        idCache.invalidate(id);
+        if (user != null) loginCache.invalidate(user.getLogin().toLowerCase());
+    }
+
+    public void invalidate(String username) {
+
+        // Check Parameters
+        if (username == null) return;
+
+        // Remove from both indices
+        var user = loginCache.getIfPresent(username.toLowerCase());
+        loginCache.invalidate(username.toLowerCase());
+        if (user != null) idCache.invalidate(Integer.parseInt(user.getId()));
+    }
+
+    // Remember unknown user
+    public void putMissing(Integer id) {
+        if (id != null) missingIds.put(id, Boolean.TRUE);
+    }
+
+    public void putMissing(String username) {
+        if (username != null) missingLogins.put(username.toLowerCase(), Boolean.TRUE);
+    }
+
+    // Check for known unknown user
+    public boolean isMissing(Integer id) {
+        return id != null && missingIds.getIfPresent(id) != null;
+    }
+
+    public boolean isMissing(String username) {
+        return username != null && missingLogins.getIfPresent(username.toLowerCase()) != null;
+    }
+
+    public void clear() {
+        idCache.invalidateAll();
+        loginCache.invalidateAll();
+        clearMissing();
+    }
+
+    public void clearMissing() {
+        missingIds.invalidateAll();
+        missingLogins.invalidateAll();
+    }
+
+    // Setter
+    public void setDirectory(@Nullable UserDirectory directory) {
+        this.directory = directory;
+    }
+
+    // Getter
+    public @Nullable UserDirectory getDirectory() {
+        return directory;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long size() {
+        return idCache.estimatedSize();
+    }
+
+    public long missingSize() {
+        return missingIds.estimatedSize() + missingLogins.estimatedSize();
+    }
+
+    // Lookups answered by the negative cache instead of Helix
+    public long getNegativeHitCount() {
+        return missingIds.stats().hitCount() + missingLogins.stats().hitCount();
+    }
+
+    public CacheStats getMissingIdStats() {
+        return missingIds.stats();
+    }
+
+    public CacheStats getMissingLoginStats() {
+        return missingLogins.stats();
+    }
+}
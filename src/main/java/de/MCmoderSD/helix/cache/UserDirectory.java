@@ -0,0 +1,162 @@
+package de.MCmoderSD.helix.cache;
+
+import com.github.twitch4j.helix.domain.User;
+
+import de.MCmoderSD.helix.database.SQL;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings("unused")
+public class UserDirectory {
+
+    // Constants
+    public static final Duration DEFAULT_STALENESS = Duration.ofDays(7);                        // Max age of stored users
+    public static final int DEFAULT_WARM_UP_LIMIT = (int) UserCache.DEFAULT_MAXIMUM_SIZE;       // Max users loaded on start
+    public static final int DEFAULT_BATCH_SIZE = 500;                                           // Max buffered users per write
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(5);                // Max time a user stays buffered
+
+    // Associations
+    private final SQL sql;
+
+    // Executors
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+
+    // Attributes
+    private final Duration staleness;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private HashMap<Integer, User> pending;     // Buffered writes, latest user per ID
+    private ScheduledFuture<?> scheduledFlush;
+
+    // Constructor
+    public UserDirectory(SQL sql) {
+        this(sql, DEFAULT_STALENESS);
+    }
+
+    public UserDirectory(SQL sql, Duration staleness) {
+        this(sql, staleness, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public UserDirectory(SQL sql, Duration staleness, int batchSize, Duration flushInterval) {
+
+        // Check Parameters
+        if (sql == null) throw new IllegalArgumentException("SQL cannot be null");
+        if (staleness == null || staleness.isNegative() || staleness.isZero()) throw new IllegalArgumentException("Staleness must be greater than 0");
+        if (batchSize < 1) throw new IllegalArgumentException("Batch size must be greater than 0");
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) throw new IllegalArgumentException("Flush interval must be greater than 0");
+
+        // Set Associations
+        this.sql = sql;
+
+        // Set Attributes
+        this.staleness = staleness;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        pending = new HashMap<>();
+
+        // Initialize Executors
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("user-directory").factory());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // Oldest last seen time that is still fresh
+    private Timestamp freshSince() {
+        return Timestamp.from(Instant.now().minus(staleness));
+    }
+
+    // Get fresh users with IDs, the directory never fails a lookup, Helix is the fallback
+    public List<User> getUsersByIDs(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) return List.of();
+        try {
+            return sql.getTwitchUsersByIDs(ids, freshSince());
+        } catch (RuntimeException e) {
+            System.err.println("Failed to read user directory: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    // Get fresh users with names
+    public List<User> getUsersByName(Collection<String> usernames) {
+        if (usernames == null || usernames.isEmpty()) return List.of();
+        try {
+            return sql.getTwitchUsersByName(usernames, freshSince());
+        } catch (RuntimeException e) {
+            System.err.println("Failed to read user directory: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    // Get most recently seen fresh users
+    public List<User> getRecentUsers(int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Limit must be greater than 0");
+        try {
+            return sql.getTwitchUsers(freshSince(), limit);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to read user directory: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    // Buffer users, written in the background once the batch is full or the flush interval has passed
+    public void save(Collection<User> users) {
+
+        // Check Parameters
+        if (users == null || users.isEmpty()) return;
+
+        // Buffer users
+        synchronized (this) {
+            for (var user : users) pending.put(Integer.parseInt(user.getId()), user);
+            if (pending.size() >= batchSize) flush();
+            else if (scheduledFlush == null) scheduledFlush = scheduler.schedule(this::flush, flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Write buffered users now
+    public synchronized void flush() {
+
+        // Cancel scheduled flush
+        if (scheduledFlush != null) scheduledFlush.cancel(false);
+        scheduledFlush = null;
+        if (pending.isEmpty()) return;
+
+        // Hand the batch to a worker and start a new one
+        var batch = new ArrayList<>(pending.values());
+        pending = new HashMap<>();
+        executor.execute(() -> {
+            try {
+                sql.addTwitchUsers(batch);
+            } catch (RuntimeException e) {
+                System.err.println("Failed to write user directory: " + e.getMessage());
+            }
+        });
+    }
+
+    // Getter
+    public Duration getStaleness() {
+        return staleness;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+}
@@ -9,6 +9,11 @@ import com.github.twitch4j.helix.TwitchHelix;
 
 import tools.jackson.databind.JsonNode;
 
+import de.MCmoderSD.helix.cache.RoleCache;
+import de.MCmoderSD.helix.cache.UserBatcher;
+import de.MCmoderSD.helix.cache.UserCache;
+import de.MCmoderSD.helix.cache.UserDirectory;
+import de.MCmoderSD.helix.enums.Role;
 import de.MCmoderSD.helix.enums.Scope;
 import de.MCmoderSD.helix.handler.UserHandler;
 import de.MCmoderSD.helix.handler.ChatHandler;
@@ -17,6 +22,10 @@ import de.MCmoderSD.helix.handler.StreamHandler;
 import de.MCmoderSD.helix.handler.ChannelHandler;
 import de.MCmoderSD.server.core.Server;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.EnumMap;
 
 import static de.MCmoderSD.helix.utilities.ConfigValidator.*;
 
@@ -28,6 +37,9 @@ public class HelixHandler {
     // Attributes
     private final TwitchHelix helix;
     private final CredentialManager credentialManager;
+    private final UserCache userCache;
+    private final @Nullable UserDirectory userDirectory;
+    private final UserBatcher userBatcher;
 
     // Handler
     private final TokenHandler tokenHandler;
@@ -70,12 +82,20 @@ public class HelixHandler {
         // Initialize TokenHandler
         tokenHandler = new TokenHandler(application, database, server, this);
 
+        // Initialize User Cache
+        userCache = new UserCache();
+        var sql = tokenHandler.getSQL(); // File stores have no user directory
+        userDirectory = sql == null ? null : new UserDirectory(sql, database.has("userStaleness") ? Duration.ofDays(database.get("userStaleness").asInt()) : UserDirectory.DEFAULT_STALENESS);
+        userCache.setDirectory(userDirectory);
+        userCache.warmUp(UserDirectory.DEFAULT_WARM_UP_LIMIT); // Runs in the background
+        userBatcher = new UserBatcher(helix, userCache);
+
         // Initialize Handlers
-        userHandler = new UserHandler(helix, tokenHandler);
-        chatHandler = new ChatHandler(helix, tokenHandler);
-        roleHandler = new RoleHandler(helix, tokenHandler);
-        streamHandler = new StreamHandler(helix, tokenHandler);
-        channelHandler = new ChannelHandler(helix, tokenHandler);
+        userHandler = new UserHandler(helix, tokenHandler, userCache, userBatcher);
+        chatHandler = new ChatHandler(helix, tokenHandler, userCache, userBatcher);
+        roleHandler = createRoleHandler(application.has("roles") ? application.get("roles") : null);
+        streamHandler = new StreamHandler(helix, tokenHandler, userCache, userBatcher);
+        channelHandler = new ChannelHandler(helix, tokenHandler, userCache, userBatcher);
     }
 
     public HelixHandler(JsonNode application, JsonNode database, Server server, TwitchHelix helix, CredentialManager credentialManager) {
@@ -96,12 +116,32 @@ public class HelixHandler {
         // Initialize TokenHandler
         tokenHandler = new TokenHandler(application, database, server, this);
 
+        // Initialize User Cache
+        userCache = new UserCache();
+        var sql = tokenHandler.getSQL(); // File stores have no user directory
+        userDirectory = sql == null ? null : new UserDirectory(sql, database.has("userStaleness") ? Duration.ofDays(database.get("userStaleness").asInt()) : UserDirectory.DEFAULT_STALENESS);
+        userCache.setDirectory(userDirectory);
+        userCache.warmUp(UserDirectory.DEFAULT_WARM_UP_LIMIT); // Runs in the background
+        userBatcher = new UserBatcher(helix, userCache);
+
         // Initialize Handlers
-        userHandler = new UserHandler(helix, tokenHandler);
-        chatHandler = new ChatHandler(helix, tokenHandler);
-        roleHandler = new RoleHandler(helix, tokenHandler);
-        streamHandler = new StreamHandler(helix, tokenHandler);
-        channelHandler = new ChannelHandler(helix, tokenHandler);
+        userHandler = new UserHandler(helix, tokenHandler, userCache, userBatcher);
+        chatHandler = new ChatHandler(helix, tokenHandler, userCache, userBatcher);
+        roleHandler = createRoleHandler(application.has("roles") ? application.get("roles") : null);
+        streamHandler = new StreamHandler(helix, tokenHandler, userCache, userBatcher);
+        channelHandler = new ChannelHandler(helix, tokenHandler, userCache, userBatcher);
+    }
+
+    // Role cache settings are optional, missing values fall back to the defaults
+    private RoleHandler createRoleHandler(@Nullable JsonNode roles) {
+        var ttl = new EnumMap<Role, Duration>(Role.class);
+        if (roles != null) for (var role : Role.values()) if (roles.has(role.getName() + "Ttl")) ttl.put(role, Duration.ofSeconds(roles.get(role.getName() + "Ttl").asInt()));
+        return new RoleHandler(
+                helix, tokenHandler, userCache, userBatcher,
+                roles != null && roles.has("cacheBudget") ? roles.get("cacheBudget").asLong() : RoleCache.DEFAULT_MAXIMUM_WEIGHT,
+                roles != null && roles.has("refreshInterval") ? Duration.ofSeconds(roles.get("refreshInterval").asInt()) : RoleCache.DEFAULT_REFRESH_AFTER_WRITE,
+                ttl
+        );
     }
 
     // Setters
@@ -114,6 +154,14 @@ public class HelixHandler {
         return helix;
     }
 
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    public @Nullable UserDirectory getUserDirectory() {
+        return userDirectory;
+    }
+
     public String getAuthorizationUrl(Scope... scopes) {
         return tokenHandler.getAuthorizationUrl(scopes);
     }
@@ -0,0 +1,177 @@
+package de.MCmoderSD.helix.core;
+
+import de.MCmoderSD.helix.objects.AuthToken;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings("unused")
+public class RefreshScheduler {
+
+    // Constants
+    public static final Duration DEFAULT_LEAD_TIME = Duration.ofMinutes(5);         // Refresh before expiry
+    public static final Duration DEFAULT_JITTER = Duration.ofMinutes(1);            // Random spread of refreshes
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(5);   // First retry delay
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(5);       // Max retry delay
+    public static final int DEFAULT_MAX_ATTEMPTS = 6;                               // Attempts before a failing refresh is reported
+
+    // Associations
+    private final TokenHandler tokenHandler;
+
+    // Executors
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+
+    // Attributes
+    private final Duration leadTime;
+    private final Duration jitter;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+    private final ConcurrentHashMap<Integer, Task> tasks;
+
+    // Constructor
+    public RefreshScheduler(TokenHandler tokenHandler) {
+        this(tokenHandler, DEFAULT_LEAD_TIME, DEFAULT_JITTER, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    public RefreshScheduler(TokenHandler tokenHandler, Duration leadTime, Duration jitter, Duration initialBackoff, Duration maxBackoff, int maxAttempts) {
+
+        // Check Parameters
+        if (tokenHandler == null) throw new IllegalArgumentException("TokenHandler cannot be null");
+        if (leadTime == null || leadTime.isNegative()) throw new IllegalArgumentException("Lead time cannot be null or negative");
+        if (jitter == null || jitter.isNegative()) throw new IllegalArgumentException("Jitter cannot be null or negative");
+        if (initialBackoff == null || initialBackoff.isNegative() || initialBackoff.isZero()) throw new IllegalArgumentException("Initial backoff must be greater than 0");
+        if (maxBackoff == null || maxBackoff.compareTo(initialBackoff) < 0) throw new IllegalArgumentException("Max backoff cannot be less than initial backoff");
+        if (maxAttempts < 1) throw new IllegalArgumentException("Max attempts must be greater than 0");
+
+        // Set Associations
+        this.tokenHandler = tokenHandler;
+
+        // Set Attributes
+        this.leadTime = leadTime;
+        this.jitter = jitter;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+        tasks = new ConcurrentHashMap<>();
+
+        // Initialize Executors
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("token-refresh").factory());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // Schedule refresh ahead of expiry, replaces the pending refresh of the same token
+    public void schedule(AuthToken token) {
+
+        // Check Parameters
+        if (token == null || token.getId() == null) throw new IllegalArgumentException("Token cannot be null");
+        if (token.getNextRefresh() == null) throw new IllegalArgumentException("Token has no expiry");
+
+        // Calculate delay
+        var spread = jitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+        var delay = Math.max(0, token.getNextRefresh().getTime() - System.currentTimeMillis() - leadTime.toMillis() - spread);
+
+        // Replace pending refresh
+        var task = new Task(token, 1);
+        var previous = tasks.put(token.getId(), task);
+        if (previous != null) previous.cancel();
+        task.start(delay);
+    }
+
+    // Cancel pending refresh of a replaced or revoked token
+    public void cancel(Integer id) {
+        if (id == null) return;
+        var task = tasks.remove(id);
+        if (task != null) task.cancel();
+    }
+
+    public void cancelAll() {
+        tasks.values().forEach(Task::cancel);
+        tasks.clear();
+    }
+
+    // Retry delay for attempt, doubled per failed attempt
+    private long backoff(int attempt) {
+        var delay = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        return Math.min(delay, maxBackoff.toMillis());
+    }
+
+    // Pending refresh of one token
+    private class Task implements Runnable {
+
+        // Attributes
+        private final AuthToken token;
+        private final int attempt;
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean cancelled;
+
+        // Constructor
+        private Task(AuthToken token, int attempt) {
+            this.token = token;
+            this.attempt = attempt;
+        }
+
+        private void start(long delay) {
+            future = scheduler.schedule(() -> executor.execute(this), delay, TimeUnit.MILLISECONDS);
+        }
+
+        private void cancel() {
+            cancelled = true;
+            var future = this.future;
+            if (future != null) future.cancel(false);
+        }
+
+        @Override
+        public void run() {
+
+            // Check State
+            if (cancelled) return;
+
+            try {
+
+                // Refresh, the refreshed token schedules itself
+                tokenHandler.refreshToken(token);
+                tasks.remove(token.getId(), this);
+
+            } catch (TokenRejectedException e) {
+
+                // Refresh token was rejected and revoked, retrying is pointless
+                tasks.remove(token.getId(), this);
+                System.err.println("Refresh token of " + token.getId() + " was rejected: " + e.getMessage());
+
+            } catch (RuntimeException e) {
+
+                // Report once, then keep retrying at the max backoff until the token is revoked or replaced
+                if (attempt == maxAttempts) System.err.println("Failed to refresh token of " + token.getId() + " after " + attempt + " attempts, retrying every " + maxBackoff.toSeconds() + "s: " + e.getMessage());
+
+                // Retry with backoff unless replaced or cancelled meanwhile
+                var retry = new Task(token, attempt + 1);
+                if (!cancelled && tasks.replace(token.getId(), this, retry)) retry.start(backoff(attempt));
+            }
+        }
+    }
+
+    // Getter
+    public Duration getLeadTime() {
+        return leadTime;
+    }
+
+    public Duration getJitter() {
+        return jitter;
+    }
+
+    public int getScheduledCount() {
+        return tasks.size();
+    }
+
+    public boolean isScheduled(Integer id) {
+        return id != null && tasks.containsKey(id);
+    }
+}
@@ -0,0 +1,133 @@
+package de.MCmoderSD.helix.core;
+
+import java.io.IOException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+@SuppressWarnings("unused")
+public class TokenClient {
+
+    // Constants
+    public static final String DEFAULT_BASE_URL = "https://id.twitch.tv/oauth2";   // Twitch OAuth2 endpoints
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);  // Max time to connect
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(15);     // Max time per request
+    private static final String[] REJECTIONS = {"invalid_grant", "invalid refresh token", "invalid access token"}; // Bodies of rejected tokens
+
+    // Attributes
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration readTimeout;
+
+    // Constructor
+    public TokenClient() {
+        this(DEFAULT_BASE_URL, DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT);
+    }
+
+    public TokenClient(String baseUrl, Duration connectTimeout, Duration readTimeout) {
+
+        // Check Parameters
+        if (baseUrl == null || baseUrl.isBlank() || !baseUrl.startsWith("http")) throw new IllegalArgumentException("Invalid base URL: " + baseUrl);
+        if (connectTimeout == null || connectTimeout.isNegative() || connectTimeout.isZero()) throw new IllegalArgumentException("Connect timeout must be greater than 0");
+        if (readTimeout == null || readTimeout.isNegative() || readTimeout.isZero()) throw new IllegalArgumentException("Read timeout must be greater than 0");
+
+        // Set Attributes
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.readTimeout = readTimeout;
+
+        // Shared client, connections are kept alive and reused across requests
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)                 // Falls back to HTTP/1.1
+                .connectTimeout(connectTimeout)                     // Connect Timeout
+                .followRedirects(HttpClient.Redirect.NEVER)         // Token endpoint never redirects
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    // Post form to endpoint, returns the response body
+    public String post(String path, String form) {
+
+        // Check Parameters
+        if (form == null || form.isBlank()) throw new IllegalArgumentException("Request body cannot be null or empty");
+
+        // Create Request
+        var request = newRequest(path)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+
+        // Send Request
+        return send(request);
+    }
+
+    // Get endpoint with bearer token, returns the response body
+    public String get(String path, String accessToken) {
+
+        // Check Parameters
+        if (accessToken == null || accessToken.isBlank()) throw new IllegalArgumentException("Access token cannot be null or empty");
+
+        // Create Request
+        var request = newRequest(path)
+                .header("Authorization", "OAuth " + accessToken)
+                .GET()
+                .build();
+
+        // Send Request
+        return send(request);
+    }
+
+    // New builder per request, builders are not thread safe
+    private HttpRequest.Builder newRequest(String path) {
+        if (path == null || !path.startsWith("/")) throw new IllegalArgumentException("Path must start with '/'");
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .timeout(readTimeout);
+    }
+
+    private String send(HttpRequest request) {
+
+        // Send Request
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to send request: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Request interrupted", e);
+        }
+
+        // Check Response
+        if (response == null) throw new RuntimeException("Failed to get token! Response is null");
+        if (isRejection(response)) throw new TokenRejectedException("Token was rejected! Status Code: " + response.statusCode() + " Body: " + response.body());
+        if (response.statusCode() != 200) throw new RuntimeException("Failed to get token! Status Code: " + response.statusCode() + " Body: " + response.body());
+        if (response.body() == null) throw new RuntimeException("Failed to get token! Body is null");
+        if (response.body().isBlank()) throw new RuntimeException("Failed to get token! Body is empty");
+
+        // Return body
+        return response.body();
+    }
+
+    // Only a rejected token is final, other client errors like a wrong client secret are not
+    private static boolean isRejection(HttpResponse<String> response) {
+        if (response.statusCode() != 400 && response.statusCode() != 401) return false;
+        if (response.body() == null) return false;
+        var body = response.body().toLowerCase();
+        for (var rejection : REJECTIONS) if (body.contains(rejection)) return true;
+        return false;
+    }
+
+    // Getter
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+}
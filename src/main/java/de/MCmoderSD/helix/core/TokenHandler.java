@@ -2,27 +2,45 @@ package de.MCmoderSD.helix.core;
 
 import de.MCmoderSD.sql.Driver;
 import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
 
 import de.MCmoderSD.encryption.core.Encryption;
+import de.MCmoderSD.helix.database.FileTokenStore;
 import de.MCmoderSD.helix.database.SQL;
+import de.MCmoderSD.helix.database.TokenStore;
 import de.MCmoderSD.helix.enums.Scope;
 import de.MCmoderSD.helix.objects.AuthToken;
+import de.MCmoderSD.helix.utilities.SingleFlight;
 import de.MCmoderSD.server.core.Server;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 
-import java.io.IOException;
-
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpRequest.Builder;
-import java.net.http.HttpResponse;
+import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.sql.Timestamp;
 
 import static de.MCmoderSD.encryption.enums.Hash.SHA3_256;
 import static de.MCmoderSD.encryption.enums.Transformer.AES_ECB_PKCS5;
@@ -31,22 +49,52 @@ import static de.MCmoderSD.helix.utilities.ConfigValidator.*;
 @SuppressWarnings("UnusedReturnValue")
 public class TokenHandler {
 
+    // Constants
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     // Endpoints
-    private static final String TOKEN_URL = "https://id.twitch.tv/oauth2/token";
     private static final String AUTH_URL = "https://id.twitch.tv/oauth2/authorize";
+    public static final int DEFAULT_HYDRATION_PARALLELISM = 16;                         // Max token refreshes in flight at startup
+    public static final Duration DEFAULT_HYDRATION_DEADLINE = Duration.ofSeconds(60);   // Max startup time for token refreshes
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofHours(1);            // Lazy tokens unused this long are evicted
+    public static final Duration DEFAULT_MISSING_TTL = Duration.ofSeconds(30);          // Unknown IDs are not looked up again this long in lazy mode
+    public static final int MAXIMUM_MISSING = 100_000;                                  // Max remembered unknown IDs
+    public static final int DEFAULT_CALLBACK_CONCURRENCY = 32;                          // Max OAuth callbacks handled at the same time
+    public static final Duration VALIDATION_INTERVAL = Duration.ofHours(1);             // Twitch requires hourly token validation
+    public static final int VALIDATION_PARALLELISM = 16;                                // Max validations in flight per sweep
+    public static final Duration DEFAULT_LEASE_DURATION = Duration.ofSeconds(60);       // Max time a node may hold a refresh lease
+    public static final Duration EXPIRY_TOLERANCE = Duration.ofMinutes(1);              // Validated expiry drift kept without rescheduling
 
     // Associations
     private final HelixHandler helixHandler;
-    private final SQL sql;
+    private final TokenStore tokenStore;
+    private final @Nullable SQL sql;   // Only set for MariaDB
 
     // Configuration
     private final String clientId;
     private final String clientSecret;
     private final String redirectURL;
 
+    // Cluster
+    private final String nodeId;
+    private final Duration leaseDuration;
+
     // Attributes
-    private final Builder requestBuilder;
+    private final TokenClient tokenClient;
+    private final RefreshScheduler refreshScheduler;
+    private final TokenWriter tokenWriter;  // Batches refreshed tokens of mass refreshes
     private final ConcurrentHashMap<Integer, AuthToken> authTokens;
+    private final ConcurrentHashMap<Integer, Exception> failedTokens;
+    private final SingleFlight inFlight;   // Hydrations and refreshes per channel
+
+    // Lazy Mode
+    private final boolean lazy;
+    private final Duration idleTimeout;
+    private final ConcurrentHashMap<Integer, Long> lastAccess;
+    private final Cache<Integer, Boolean> missingTokens;   // IDs without a stored token
+
+    // Maintenance
+    private final ScheduledExecutorService maintenance;
 
     // Constructor
     public TokenHandler(JsonNode application, JsonNode database, Server server, HelixHandler helixHandler) {
@@ -68,97 +116,425 @@ public class TokenHandler {
         clientSecret = credentials.get("clientSecret").asString();
         redirectURL = application.get("oAuthRedirectURL").asString();
 
-        // Initialize SQL Builder
-        var sqlBuilder = SQL.builder()
-                .withType(Driver.DatabaseType.MARIADB)
-                .withHost(database.get("host").asString())
-                .withPort(database.get("port").asInt())
-                .withDatabase(database.get("database").asString())
-                .withUsername(database.get("username").asString())
-                .withPassword(database.get("password").asString());
+        // Initialize Token Store
+        Supplier<Encryption> encryption = () -> new Encryption(clientSecret, SHA3_256, AES_ECB_PKCS5);
+        if (isFileStore(database)) {
+            sql = null;
+            tokenStore = new FileTokenStore(Path.of(database.get("path").asString()), encryption);
+        } else {
+
+            // Initialize SQL Builder
+            var sqlBuilder = SQL.builder()
+                    .withType(Driver.DatabaseType.MARIADB)
+                    .withHost(database.get("host").asString())
+                    .withPort(database.get("port").asInt())
+                    .withDatabase(database.get("database").asString())
+                    .withUsername(database.get("username").asString())
+                    .withPassword(database.get("password").asString());
+
+            // Initialize SQL
+            sql = new SQL(sqlBuilder, encryption);
+            tokenStore = sql;
+        }
 
-        // Initialize SQL
-        sql = new SQL(sqlBuilder, new Encryption(clientSecret, SHA3_256, AES_ECB_PKCS5));
+        // Initialize Token Client
+        var tokens = application.has("tokens") ? application.get("tokens") : null;
+        tokenClient = new TokenClient(
+                tokens != null && tokens.has("baseUrl") ? tokens.get("baseUrl").asString() : TokenClient.DEFAULT_BASE_URL,
+                tokens != null && tokens.has("connectTimeout") ? Duration.ofSeconds(tokens.get("connectTimeout").asInt()) : TokenClient.DEFAULT_CONNECT_TIMEOUT,
+                tokens != null && tokens.has("readTimeout") ? Duration.ofSeconds(tokens.get("readTimeout").asInt()) : TokenClient.DEFAULT_READ_TIMEOUT
+        );
+
+        // Initialize Cluster Settings
+        nodeId = tokens != null && tokens.has("nodeId") ? tokens.get("nodeId").asString() : UUID.randomUUID().toString();
+        leaseDuration = tokens != null && tokens.has("leaseDuration") ? Duration.ofSeconds(tokens.get("leaseDuration").asInt()) : DEFAULT_LEASE_DURATION;
+
+        // Initialize Token Writer
+        tokenWriter = new TokenWriter(tokenStore);
+
+        // Initialize Refresh Scheduler
+        refreshScheduler = new RefreshScheduler(
+                this,
+                tokens != null && tokens.has("refreshLeadTime") ? Duration.ofSeconds(tokens.get("refreshLeadTime").asInt()) : RefreshScheduler.DEFAULT_LEAD_TIME,
+                tokens != null && tokens.has("refreshJitter") ? Duration.ofSeconds(tokens.get("refreshJitter").asInt()) : RefreshScheduler.DEFAULT_JITTER,
+                RefreshScheduler.DEFAULT_INITIAL_BACKOFF,
+                RefreshScheduler.DEFAULT_MAX_BACKOFF,
+                RefreshScheduler.DEFAULT_MAX_ATTEMPTS
+        );
 
-        // Initialize Request Builder
-        requestBuilder = HttpRequest.newBuilder()
-                .uri(URI.create(TOKEN_URL))
-                .header("Content-Type", "application/x-www-form-urlencoded");
+        // Initialize Lazy Mode
+        lazy = tokens != null && tokens.has("lazy") && tokens.get("lazy").asBoolean();
+        idleTimeout = tokens != null && tokens.has("idleTimeout") ? Duration.ofSeconds(tokens.get("idleTimeout").asInt()) : DEFAULT_IDLE_TIMEOUT;
+        lastAccess = new ConcurrentHashMap<>();
+        missingTokens = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_MISSING)
+                .expireAfterWrite(tokens != null && tokens.has("missingTtl") ? Duration.ofSeconds(tokens.get("missingTtl").asInt()) : DEFAULT_MISSING_TTL)
+                .build();
 
         // Load Tokens
+        inFlight = new SingleFlight();
         authTokens = new ConcurrentHashMap<>();
-        var tokens = sql.getRefreshTokens();
-        for (var entry : tokens.entrySet()) new AuthToken(entry.getKey(), entry.getValue(), this);
+        failedTokens = new ConcurrentHashMap<>();
+        maintenance = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("token-maintenance").factory());
+        if (lazy) {
+            var interval = Math.max(1, Math.min(idleTimeout.toSeconds(), 60));
+            maintenance.scheduleWithFixedDelay(this::evictIdleTokens, interval, interval, TimeUnit.SECONDS);
+        } else {
+            hydrate(
+                    tokenStore.getAuthTokens(),
+                    tokens != null && tokens.has("hydrationParallelism") ? tokens.get("hydrationParallelism").asInt() : DEFAULT_HYDRATION_PARALLELISM,
+                    tokens != null && tokens.has("hydrationDeadline") ? Duration.ofSeconds(tokens.get("hydrationDeadline").asInt()) : DEFAULT_HYDRATION_DEADLINE
+            );
+        }
+
+        // Validate tokens hourly as required by Twitch
+        maintenance.scheduleWithFixedDelay(this::validateTokens, VALIDATION_INTERVAL.toMinutes(), VALIDATION_INTERVAL.toMinutes(), TimeUnit.MINUTES);
 
         // Register Callback Handler
-        server.registerExactPath(redirectURL.substring(redirectURL.lastIndexOf('/')), new CallbackHandler());
+        server.registerExactPath(redirectURL.substring(redirectURL.lastIndexOf('/')), new CallbackHandler(tokens != null && tokens.has("callbackConcurrency") ? tokens.get("callbackConcurrency").asInt() : DEFAULT_CALLBACK_CONCURRENCY));
+    }
+
+    // Refresh stored tokens concurrently, failures are recorded per token
+    private void hydrate(HashMap<Integer, AuthToken> storedTokens, int parallelism, Duration deadline) {
+
+        // Check Tokens
+        if (storedTokens.isEmpty()) return;
+
+        // Create tasks
+        var ids = new ArrayList<>(storedTokens.keySet());
+        var permits = new Semaphore(parallelism);
+        var tasks = new ArrayList<Callable<Integer>>(ids.size());
+        for (var id : ids) tasks.add(() -> {
+            permits.acquire();
+            try {
+                return restore(storedTokens.get(id)).getId();
+            } finally {
+                permits.release();
+            }
+        });
+
+        // Run tasks, unfinished tasks are cancelled at the deadline
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = executor.invokeAll(tasks, deadline.toMillis(), TimeUnit.MILLISECONDS);
+            for (var i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (CancellationException e) {
+                    failedTokens.put(ids.get(i), new IllegalStateException("Hydration deadline of " + deadline.toSeconds() + "s exceeded"));
+                } catch (ExecutionException e) {
+                    failedTokens.put(ids.get(i), e.getCause() instanceof Exception cause ? cause : e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Token hydration interrupted: " + e.getMessage(), e);
+        }
+
+        // Report failures
+        failedTokens.forEach((id, e) -> System.err.println("Failed to load token of " + id + ": " + e.getMessage()));
+    }
+
+    // Refresh a single stored token on first use
+    private @Nullable AuthToken hydrate(Integer id) {
+        return inFlight.execute("token:" + id, () -> {
+
+            // Check Memory, another caller may have finished meanwhile
+            var token = authTokens.get(id);
+            if (token != null) return token;
+
+            // Load from database, remember unknown IDs
+            var stored = tokenStore.getAuthToken(id);
+            if (stored != null) return restore(stored);
+            missingTokens.put(id, Boolean.TRUE);
+            return null;
+        });
+    }
+
+    // Reuse a stored token that is still valid, refresh it otherwise
+    private AuthToken restore(AuthToken stored) {
+
+        // Refresh expired token
+        if (!stored.isValid(refreshScheduler.getLeadTime())) return refreshToken(stored);
+
+        // Register stored token
+        return register(stored);
+    }
+
+    // Use token on this node
+    private AuthToken register(AuthToken token) {
+        missingTokens.invalidate(token.getId());                // Known again
+        authTokens.put(token.getId(), token);                   // Add to Memory
+        helixHandler.addCredential(token.getAccessToken());     // Add to Helix
+        refreshScheduler.schedule(token);                       // Schedule refresh
+        return token;
+    }
+
+    // Drop tokens that were not used within the idle timeout, the database keeps them
+    private void evictIdleTokens() {
+        var threshold = System.currentTimeMillis() - idleTimeout.toMillis();
+        for (var id : authTokens.keySet()) {
+            var accessed = lastAccess.get(id);
+            if (accessed != null && accessed >= threshold) continue;
+            refreshScheduler.cancel(id);
+            authTokens.remove(id);
+            lastAccess.remove(id);
+        }
     }
 
-    // Request Token
-    private AuthToken requestToken(HttpRequest.BodyPublisher requestBody) {
+    // Request Token, the user is taken from the previous token or from token validation
+    private AuthToken requestToken(String requestBody, @Nullable AuthToken previous) {
 
         // Validate Body
-        if (requestBody == null) throw new IllegalArgumentException("Request body cannot be null");
-        if (requestBody.contentLength() < 1) throw new IllegalArgumentException("Request body cannot be empty");
+        if (requestBody == null || requestBody.isBlank()) throw new IllegalArgumentException("Request body cannot be null or empty");
 
-        // Create Request
-        var request = requestBuilder
-                .POST(requestBody)
-                .build();
+        // Request token, tokens stored without login are validated once
+        var responseBody = tokenClient.post("/token", requestBody);
+        if (previous != null && previous.getLogin() != null) return new AuthToken(responseBody, previous.getId(), previous.getLogin());
 
-        // Send Request
-        HttpResponse<String> response;
+        // Validate new token, a rejected new access token says nothing about the refresh token
+        var response = MAPPER.readTree(responseBody);
+        if (!response.has("access_token") || !response.get("access_token").isString()) throw new IllegalArgumentException("Response body does not contain access_token");
+        JsonNode validation;
         try {
-            response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (IOException | InterruptedException e) {
-            throw new RuntimeException("Failed to send request", e);
+            validation = validate(response.get("access_token").asString());
+        } catch (TokenRejectedException e) {
+            throw new RuntimeException("New access token was rejected: " + e.getMessage(), e);
+        }
+        return new AuthToken(responseBody, Integer.parseInt(validation.get("user_id").asString()), validation.get("login").asString());
+    }
+
+    // Validate access token, rejected tokens throw TokenRejectedException
+    private JsonNode validate(String accessToken) {
+
+        // Parse response
+        var validation = MAPPER.readTree(tokenClient.get("/validate", accessToken));
+
+        // Check response
+        if (!validation.has("user_id") || !validation.get("user_id").isString()) throw new IllegalArgumentException("Validation response does not contain user_id");
+        if (!validation.has("login") || !validation.get("login").isString()) throw new IllegalArgumentException("Validation response does not contain login");
+
+        // Return validation
+        return validation;
+    }
+
+    // Validate all tokens in one sweep, rejected tokens are refreshed or revoked
+    private void validateTokens() {
+        var permits = new Semaphore(VALIDATION_PARALLELISM);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var token : authTokens.values()) executor.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    update(token, validate(token.getAccessToken()));
+                } catch (TokenRejectedException e) {
+                    if (authTokens.get(token.getId()) != token) return; // Replaced meanwhile
+                    try {
+                        refreshToken(token);
+                    } catch (RuntimeException ex) {
+                        System.err.println("Failed to refresh invalid token of " + token.getId() + ": " + ex.getMessage());
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to validate token of " + token.getId() + ": " + e.getMessage());
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    // Take over the scopes and expiry Twitch reports for a token
+    private void update(AuthToken token, JsonNode validation) {
+
+        // Validated scopes
+        var scopeMask = token.getScopeMask();
+        if (validation.has("scopes") && validation.get("scopes").isArray()) {
+            var scopes = EnumSet.noneOf(Scope.class);
+            for (var scope : validation.get("scopes")) {
+                try {
+                    scopes.add(Scope.getScope(scope.asString()));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Skipping unknown validated scope: " + scope.asString()); // Not in Scope yet
+                }
+            }
+            scopeMask = Scope.toMask(scopes);
         }
 
-        // Check Response
-        if (response == null) throw new RuntimeException("Failed to get token! Response is null");
-        if (response.statusCode() != 200) throw new RuntimeException("Failed to get token! Status Code: " + response.statusCode() + " Body: " + response.body());
-        if (response.body() == null) throw new RuntimeException("Failed to get token! Body is null");
-        if (response.body().isBlank()) throw new RuntimeException("Failed to get token! Body is empty");
+        // Validated expiry, small drift is ignored
+        var expiresAt = token.getNextRefresh();
+        if (validation.has("expires_in") && validation.get("expires_in").isNumber() && validation.get("expires_in").asLong() > 0) {
+            var validated = System.currentTimeMillis() + validation.get("expires_in").asLong() * 1000;
+            if (expiresAt == null || Math.abs(validated - expiresAt.getTime()) > EXPIRY_TOLERANCE.toMillis()) expiresAt = new Timestamp(validated);
+        }
 
-        // Create new token
-        return new AuthToken(response.body(), helixHandler.getHelix(), this);
+        // Replace the token unless it was refreshed meanwhile
+        if (Arrays.equals(scopeMask, token.getScopeMask()) && Objects.equals(expiresAt, token.getNextRefresh())) return;
+        var updated = token.withValidation(scopeMask, expiresAt);
+        if (authTokens.replace(token.getId(), token, updated)) refreshScheduler.schedule(updated);
     }
 
-    // Setter
+    // Setter, concurrent refreshes of the same channel on this node share one request
     public AuthToken refreshToken(AuthToken token) {
 
-        // Create body
-        var requestBody = HttpRequest.BodyPublishers.ofString(String.format(
-                "client_id=%s&client_secret=%s&refresh_token=%s&grant_type=refresh_token",
-                clientId,
-                clientSecret,
-                token.getRefreshToken()
-        ));
+        // Check Parameters
+        if (token == null || token.getId() == null) throw new IllegalArgumentException("Token cannot be null");
+
+        // Refresh once per channel
+        return inFlight.execute("refresh:" + token.getId(), () -> refresh(token));
+    }
+
+    // Refresh a token that failed or expired, concurrent callers for the same channel share one refresh
+    public AuthToken refreshStaleToken(AuthToken stale) {
+
+        // Check Parameters
+        if (stale == null || stale.getId() == null) throw new IllegalArgumentException("Token cannot be null");
+
+        // Refresh once per channel
+        var id = stale.getId();
+        return inFlight.execute("refresh:" + id, () -> {
 
+            // Already replaced by an earlier refresh
+            var current = authTokens.get(id);
+            if (current != null && current != stale && current.isValid(Duration.ZERO)) return current;
+
+            // Refresh
+            return refresh(stale);
+        });
+    }
+
+    // Refresh under the lease, callers hold the in-flight slot of the channel
+    private AuthToken refresh(AuthToken token) {
+
+        // Take the lease, only one refresh of a token runs at a time across all nodes
+        var id = token.getId();
+        var epoch = tokenStore.acquireLease(id, nodeId, leaseDuration);
+        if (epoch == TokenStore.LEASE_MISSING) {
+            forget(id);
+            throw new IllegalStateException("Token of " + id + " was revoked");
+        }
+        if (epoch == TokenStore.LEASE_HELD) {
+            var adopted = adopt(token);
+            if (adopted != null) return adopted;
+            throw new RuntimeException("Token of " + id + " is being refreshed");
+        }
+
+        String refreshToken = null;
         try {
 
+            // Use the token another node stored meanwhile
+            var stored = tokenStore.getAuthToken(id);
+            if (stored == null) {
+                forget(id); // Deleted by another node
+                throw new IllegalStateException("Token of " + id + " was revoked");
+            }
+            if (stored.isValid(refreshScheduler.getLeadTime()) && !Objects.equals(stored.getAccessToken(), token.getAccessToken())) {
+                tokenStore.releaseLease(id, nodeId, epoch);
+                return register(stored);
+            }
+
+            // Create body with the latest refresh token
+            refreshToken = stored.getRefreshToken();
+            var requestBody = String.format(
+                    "client_id=%s&client_secret=%s&refresh_token=%s&grant_type=refresh_token",
+                    clientId,
+                    clientSecret,
+                    refreshToken
+            );
+
             // Request Token
-            var refreshedToken = requestToken(requestBody);                 // Request new token
-            authTokens.put(refreshedToken.getId(), refreshedToken);         // Update in Memory
-            helixHandler.addCredential(refreshedToken.getAccessToken());    // Update in Helix
-            sql.addRefreshToken(refreshedToken);                            // Update or add token in database
-            return refreshedToken;                                          // Return refreshed token
+            var refreshedToken = requestToken(requestBody, stored);                                                 // Request new token
+            if (!tokenWriter.write(refreshedToken, epoch).join()) throw new RuntimeException("Lease of token " + id + " was lost"); // Store if still leased, batched with concurrent refreshes
+            return register(refreshedToken);                                                                        // Use and schedule next refresh
+
+        } catch (TokenRejectedException e) {
+
+            // Keep the token if a newer refresh token was stored meanwhile, the rejected one was already rotated
+            var latest = tokenStore.getAuthToken(id);
+            if (latest != null && !Objects.equals(latest.getRefreshToken(), refreshToken)) {
+                tokenStore.releaseLease(id, nodeId, epoch);
+                throw new RuntimeException("Refresh token of " + id + " was rotated meanwhile", e);
+            }
+
+            // Refresh token was rejected, the only case a token is revoked
+            revokeToken(id);
+            throw new TokenRejectedException("Failed to refresh token: " + e.getMessage(), e);
 
         } catch (Exception e) {
-            sql.deleteRefreshToken(token.getId());
+            tokenStore.releaseLease(id, nodeId, epoch);
             throw new RuntimeException("Failed to refresh token: " + e.getMessage(), e);
         }
     }
 
+    // Pick up a token refreshed by another node, null while the refresh is still running
+    private @Nullable AuthToken adopt(AuthToken token) {
+        var stored = tokenStore.getAuthToken(token.getId());
+        if (stored == null || !stored.isValid(refreshScheduler.getLeadTime()) || Objects.equals(stored.getAccessToken(), token.getAccessToken())) return null;
+        return register(stored);
+    }
+
+    // Remove token and stop refreshing it
+    public void revokeToken(Integer id) {
+        if (id == null) return;
+        forget(id);
+        tokenStore.deleteRefreshToken(id);
+        missingTokens.invalidate(id);
+    }
+
+    // Stop using a token on this node, the store is left as is
+    private void forget(Integer id) {
+        refreshScheduler.cancel(id);
+        authTokens.remove(id);
+        lastAccess.remove(id);
+    }
+
     // Getter
     public AuthToken getAuthToken(Integer id) {
-        return authTokens.get(id);
+
+        // Eager mode keeps all tokens in memory
+        if (!lazy) return authTokens.get(id);
+
+        // Check Parameters
+        if (id == null) return null;
+        if (missingTokens.getIfPresent(id) != null) return null; // Looked up recently
+
+        // Get or hydrate token
+        lastAccess.put(id, System.currentTimeMillis());
+        var token = authTokens.get(id);
+        return token != null ? token : hydrate(id);
+    }
+
+    public boolean isLazy() {
+        return lazy;
     }
 
     public ConcurrentHashMap<Integer, AuthToken> getAuthTokens() {
         return authTokens;
     }
 
+    // Tokens that could not be loaded at startup
+    public ConcurrentHashMap<Integer, Exception> getFailedTokens() {
+        return failedTokens;
+    }
+
+    public TokenStore getTokenStore() {
+        return tokenStore;
+    }
+
+    // Null when tokens are kept in a file store
+    public @Nullable SQL getSQL() {
+        return sql;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public TokenClient getTokenClient() {
+        return tokenClient;
+    }
+
+    public RefreshScheduler getRefreshScheduler() {
+        return refreshScheduler;
+    }
+
     public String getAuthorizationUrl(Scope... scopes) {
 
         // Build Scopes
@@ -183,40 +559,89 @@ public class TokenHandler {
         private static final String SUCCESS_MESSAGE = "Successfully authenticated! \nYou can close this tab now!";
         private static final String ERROR_MESSAGE = "Failed to authenticate, please try again";
         private static final String INVALID_CODE_MESSAGE = "Invalid code, please try again";
+        private static final String USED_CODE_MESSAGE = "Code was already used, please try again";
+        private static final String BUSY_MESSAGE = "Too many requests, please try again in a moment";
+        private static final Duration CODE_RETENTION = Duration.ofMinutes(10); // Authorization codes expire after 10 minutes
+
+        // Attributes
+        private final ExecutorService executor;
+        private final Semaphore permits;
+        private final Cache<String, Boolean> usedCodes;
+
+        // Constructor
+        private CallbackHandler(int concurrency) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            permits = new Semaphore(concurrency);
+            usedCodes = Caffeine.newBuilder().expireAfterWrite(CODE_RETENTION).build();
+        }
 
         @Override
         public void handleRequest(HttpServerExchange exchange) {
 
+            // Leave the I/O thread, the exchange completes once the worker has responded
+            if (exchange.isInIoThread()) {
+                exchange.dispatch(executor, this);
+                return;
+            }
+
             // Get query
             var query = exchange.getQueryString();
 
             // Check if the query contains the code
-            if (query != null && query.contains("code=")) {
-
-                // Create Request Body
-                var requestBody = HttpRequest.BodyPublishers.ofString(String.format(
-                        "client_id=%s&client_secret=%s&code=%s&grant_type=authorization_code&redirect_uri=%s",
-                        clientId,
-                        clientSecret,
-                        query.split("code=")[1].split("&")[0],
-                        redirectURL
-                ));
-
-                try {
-
-                    // Request Token
-                    var token = requestToken(requestBody);              // Request new token
-                    authTokens.put(token.getId(), token);                   // Add to Memory
-                    helixHandler.addCredential(token.getAccessToken());     // Add to Helix
-                    sql.addRefreshToken(token);                             // Add to database
-
-                } catch (Exception e) {
-                    System.err.println("Failed to handle callback: " + e.getMessage());
-                    exchange.getResponseSender().send(ERROR_MESSAGE);
-                } finally {
-                    exchange.getResponseSender().send(SUCCESS_MESSAGE);
-                }
-            } else exchange.getResponseSender().send(INVALID_CODE_MESSAGE);
+            if (query == null || !query.contains("code=")) {
+                exchange.setStatusCode(400);
+                exchange.getResponseSender().send(INVALID_CODE_MESSAGE);
+                return;
+            }
+
+            // Check replayed code
+            var code = query.split("code=")[1].split("&")[0];
+            if (code.isBlank()) {
+                exchange.setStatusCode(400);
+                exchange.getResponseSender().send(INVALID_CODE_MESSAGE);
+                return;
+            }
+            if (usedCodes.asMap().putIfAbsent(code, Boolean.TRUE) != null) {
+                exchange.setStatusCode(409);
+                exchange.getResponseSender().send(USED_CODE_MESSAGE);
+                return;
+            }
+
+            // Cap concurrent exchanges
+            if (!permits.tryAcquire()) {
+                usedCodes.invalidate(code);
+                exchange.setStatusCode(503);
+                exchange.getResponseSender().send(BUSY_MESSAGE);
+                return;
+            }
+
+            // Create Request Body
+            var requestBody = String.format(
+                    "client_id=%s&client_secret=%s&code=%s&grant_type=authorization_code&redirect_uri=%s",
+                    clientId,
+                    clientSecret,
+                    code,
+                    redirectURL
+            );
+
+            try {
+
+                // Request Token
+                var token = requestToken(requestBody, null);                // Request new token
+                tokenStore.addRefreshToken(token);                          // Add to database, fences out refreshes in flight
+                lastAccess.put(token.getId(), System.currentTimeMillis());  // Mark as used
+                register(token);                                            // Add to memory and Helix, schedule refresh
+
+                // Send Response
+                exchange.getResponseSender().send(SUCCESS_MESSAGE);
+
+            } catch (Exception e) {
+                System.err.println("Failed to handle callback: " + e.getMessage());
+                exchange.setStatusCode(500);
+                exchange.getResponseSender().send(ERROR_MESSAGE);
+            } finally {
+                permits.release();
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package de.MCmoderSD.helix.core;
+
+// Twitch rejected the refresh token or access token itself, retrying with the same token is pointless
+@SuppressWarnings("unused")
+public class TokenRejectedException extends RuntimeException {
+
+    // Constructor
+    public TokenRejectedException(String message) {
+        super(message);
+    }
+
+    public TokenRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,143 @@
+package de.MCmoderSD.helix.core;
+
+import de.MCmoderSD.helix.database.TokenStore;
+import de.MCmoderSD.helix.objects.AuthToken;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Coalesces the fenced writes of concurrent refreshes into one batch per store round trip
+@SuppressWarnings("unused")
+public class TokenWriter {
+
+    // Constants
+    public static final Integer LIMIT = 1000;                               // Max tokens per batch
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(5);     // Time to collect overlapping writes
+
+    // Associations
+    private final TokenStore tokenStore;
+
+    // Executors
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+
+    // Attributes
+    private final Duration window;
+    private LinkedHashMap<Integer, Write> pending;
+    private int inFlight;                                                   // Batches being written
+    private ScheduledFuture<?> scheduledFlush;
+
+    // Constructor
+    public TokenWriter(TokenStore tokenStore) {
+        this(tokenStore, DEFAULT_WINDOW);
+    }
+
+    public TokenWriter(TokenStore tokenStore, Duration window) {
+
+        // Check Parameters
+        if (tokenStore == null) throw new IllegalArgumentException("TokenStore cannot be null");
+        if (window == null || window.isNegative()) throw new IllegalArgumentException("Window cannot be null or negative");
+
+        // Set Associations
+        this.tokenStore = tokenStore;
+
+        // Set Attributes
+        this.window = window;
+        pending = new LinkedHashMap<>();
+
+        // Initialize Executors
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("token-writer").factory());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // Queue a fenced write, completes with false if the lease was lost
+    public CompletableFuture<Boolean> write(AuthToken authToken, long epoch) {
+
+        // Check authToken
+        if (authToken == null) throw new IllegalArgumentException("AuthToken cannot be null");
+
+        // Queue write, an older pending write of the same token is superseded
+        var write = new Write(authToken, epoch);
+        synchronized (this) {
+            var previous = pending.put(authToken.getId(), write);
+            if (previous != null) previous.future.complete(false);
+            schedule();
+        }
+        return write.future;
+    }
+
+    // Flush when full or when no other write overlaps, otherwise once the window has passed
+    private void schedule() {
+        var idle = pending.size() == 1 && scheduledFlush == null && inFlight == 0;
+        if (pending.size() >= LIMIT || idle) {
+            if (scheduledFlush != null) scheduledFlush.cancel(false);
+            scheduledFlush = null;
+            dispatch();
+        } else if (scheduledFlush == null) scheduledFlush = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void flush() {
+        scheduledFlush = null;
+        if (!pending.isEmpty()) dispatch();
+    }
+
+    // Hand the current batch to a worker and start a new one
+    private void dispatch() {
+        var writes = pending;
+        pending = new LinkedHashMap<>();
+        inFlight++;
+        executor.execute(() -> store(writes));
+    }
+
+    private void store(LinkedHashMap<Integer, Write> writes) {
+        try {
+
+            // Store batch
+            var epochs = HashMap.<Integer, Long>newHashMap(writes.size());
+            writes.forEach((id, write) -> epochs.put(id, write.epoch));
+            var stored = tokenStore.addRefreshTokens(writes.values().stream().map(write -> write.authToken).toList(), epochs);
+
+            // Complete writes
+            writes.forEach((id, write) -> write.future.complete(stored.contains(id)));
+
+        } catch (Exception e) {
+            writes.values().forEach(write -> write.future.completeExceptionally(e));
+        } finally {
+            synchronized (this) {
+                inFlight--;
+            }
+        }
+    }
+
+    // Pending fenced write
+    private static class Write {
+
+        // Attributes
+        private final AuthToken authToken;
+        private final long epoch;
+        private final CompletableFuture<Boolean> future;
+
+        // Constructor
+        private Write(AuthToken authToken, long epoch) {
+            this.authToken = authToken;
+            this.epoch = epoch;
+            future = new CompletableFuture<>();
+        }
+    }
+
+    // Getter
+    public Duration getWindow() {
+        return window;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,73 @@
+package de.MCmoderSD.helix.database;
+
+import de.MCmoderSD.encryption.core.Encryption;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Bounded pool of ciphers, each instance is used by one thread at a time and kept for reuse
+@SuppressWarnings("unused")
+public class EncryptionPool {
+
+    // Constants
+    public static final int DEFAULT_SIZE = Runtime.getRuntime().availableProcessors(); // Max instances, one per core
+
+    // Attributes
+    private final Supplier<Encryption> factory;
+    private final ArrayBlockingQueue<Encryption> idle;
+    private final Semaphore permits;
+    private final int size;
+
+    // Constructor
+    public EncryptionPool(Supplier<Encryption> factory) {
+        this(factory, DEFAULT_SIZE);
+    }
+
+    public EncryptionPool(Supplier<Encryption> factory, int size) {
+
+        // Check Parameters
+        if (factory == null) throw new IllegalArgumentException("Factory cannot be null");
+        if (size < 1) throw new IllegalArgumentException("Size must be greater than 0");
+
+        // Set Attributes
+        this.factory = factory;
+        this.size = size;
+        idle = new ArrayBlockingQueue<>(size);
+        permits = new Semaphore(size);
+    }
+
+    // Borrow an instance, created on first use until the pool is full
+    public <T> T apply(Function<Encryption, T> operation) {
+        permits.acquireUninterruptibly();
+        try {
+            var encryption = idle.poll();
+            if (encryption == null) encryption = factory.get();
+            try {
+                return operation.apply(encryption);
+            } finally {
+                idle.offer(encryption);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public String encrypt(String data) {
+        return apply(encryption -> encryption.encrypt(data));
+    }
+
+    public String decrypt(String data) {
+        return apply(encryption -> encryption.decrypt(data));
+    }
+
+    // Getter
+    public int getSize() {
+        return size;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,449 @@
+package de.MCmoderSD.helix.database;
+
+import de.MCmoderSD.encryption.core.Encryption;
+import de.MCmoderSD.helix.enums.Scope;
+import de.MCmoderSD.helix.objects.AuthToken;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Embedded token store, an append-only log that is compacted on startup and whenever it is mostly dead entries
+@SuppressWarnings("unused")
+public class FileTokenStore implements TokenStore {
+
+    // Constants
+    public static final int DEFAULT_COMPACT_THRESHOLD = 1024;  // Min log entries before compacting at runtime
+    public static final double COMPACT_RATIO = 0.5;            // Compact once less than half of the entries are live
+
+    private static final String PUT = "PUT";
+    private static final String DELETE = "DEL";
+    private static final String SEPARATOR = "\t";
+    private static final String EMPTY = "-";
+
+    // Associations
+    private final EncryptionPool encryption;    // Bounded ciphers, cipher state is never shared
+
+    // Attributes
+    private final Path path;
+    private final LinkedHashMap<Integer, String> records;   // Latest encrypted record per token
+    private final HashMap<Integer, Lease> leases;
+    private final HashMap<Integer, Long> epochs;
+    private final int compactThreshold;
+    private FileChannel lockChannel;
+    private FileLock lock;
+    private FileChannel log;
+    private int entries;                                    // Entries in the log, live and dead
+
+    // Constructor
+    public FileTokenStore(Path path, Supplier<Encryption> encryption) {
+        this(path, encryption, DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    public FileTokenStore(Path path, Supplier<Encryption> encryption, int compactThreshold) {
+
+        // Check Parameters
+        if (path == null) throw new IllegalArgumentException("Path cannot be null");
+        if (encryption == null) throw new IllegalArgumentException("Encryption cannot be null");
+        if (compactThreshold < 1) throw new IllegalArgumentException("Compact threshold must be greater than 0");
+
+        // Set Associations
+        this.encryption = new EncryptionPool(encryption);
+
+        // Set Attributes
+        this.path = path.toAbsolutePath();
+        records = new LinkedHashMap<>();
+        leases = new HashMap<>();
+        epochs = new HashMap<>();
+        this.compactThreshold = compactThreshold;
+
+        // Lock, replay and compact log
+        try {
+            if (this.path.getParent() != null) Files.createDirectories(this.path.getParent());
+            lock();
+            if (Files.exists(this.path)) replay();
+            compact();
+        } catch (IOException | RuntimeException e) {
+            unlock();
+            if (e instanceof IllegalStateException illegalState) throw illegalState;
+            throw new RuntimeException("Failed to open token store " + this.path + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Lock a sibling file, the log itself is replaced on every compaction
+    private void lock() throws IOException {
+        lockChannel = FileChannel.open(path.resolveSibling(path.getFileName() + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;                                    // Held by this JVM
+        }
+        if (lock == null) throw new IllegalStateException("Token store " + path + " is already in use by another process");
+    }
+
+    private void unlock() {
+        try {
+            if (log != null) log.close();
+            if (lock != null) lock.release();
+            if (lockChannel != null) lockChannel.close();
+        } catch (IOException e) {
+            System.err.println("Failed to unlock token store " + path + ": " + e.getMessage());
+        } finally {
+            log = null;
+            lock = null;
+            lockChannel = null;
+        }
+    }
+
+    // Apply every log entry in order, the last entry of a token wins
+    private void replay() throws IOException {
+        try (var lines = Files.lines(path, StandardCharsets.UTF_8)) {
+            lines.forEach(line -> {
+                if (line.isBlank()) return;
+                var fields = line.split(SEPARATOR);
+                try {
+                    var id = Integer.parseInt(fields[1]);
+                    entries++;
+                    switch (fields[0]) {
+                        case PUT -> {
+                            if (fields.length != 7) throw new IllegalStateException("Expected 7 fields, got " + fields.length);
+                            records.remove(id);
+                            records.put(id, line);
+                        }
+                        case DELETE -> records.remove(id);
+                        default -> throw new IllegalStateException("Unknown operation " + fields[0]);
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("Skipping corrupt token store entry: " + e.getMessage()); // Torn write of a crashed node
+                }
+            });
+        }
+    }
+
+    // Rewrite the log with one entry per live token, sync it and swap it in atomically
+    private void compact() throws IOException {
+        if (log != null) log.close();
+        log = null;
+        var temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(out, records.values());
+            out.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        entries = records.size();
+    }
+
+    // Append entries and sync them to disk
+    private void append(Collection<String> lines) {
+        try {
+            if (log == null) throw new IllegalStateException("Token store is closed");
+            write(log, lines);
+            log.force(true);
+            entries += lines.size();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write token store " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void write(FileChannel channel, Collection<String> lines) throws IOException {
+        var builder = new StringBuilder();
+        for (var line : lines) builder.append(line).append('\n');
+        var buffer = ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    // Compact once the log has grown past the threshold and is mostly dead entries
+    private void compactIfSparse() {
+        if (entries < compactThreshold || records.size() >= entries * COMPACT_RATIO) return;
+        try {
+            compact();
+        } catch (IOException e) {
+            System.err.println("Failed to compact token store " + path + ": " + e.getMessage()); // Log stays valid, retried on the next write
+            try {
+                if (log == null) log = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            } catch (IOException reopen) {
+                System.err.println("Failed to reopen token store " + path + ": " + reopen.getMessage());
+            }
+        }
+    }
+
+    // Encode a token as log entry
+    private String encode(AuthToken authToken) {
+        return encryption.apply(crypto -> String.join(SEPARATOR,
+                PUT,
+                String.valueOf(authToken.getId()),
+                field(crypto.encrypt(authToken.getRefreshToken())),
+                authToken.getAccessToken() == null ? EMPTY : field(crypto.encrypt(authToken.getAccessToken())),
+                authToken.getNextRefresh() == null ? EMPTY : String.valueOf(authToken.getNextRefresh().getTime()),
+                scopes(authToken.getScopes()),
+                authToken.getLogin() == null ? EMPTY : authToken.getLogin()
+        ));
+    }
+
+    private AuthToken decode(String record) {
+        var fields = record.split(SEPARATOR);
+        return encryption.apply(crypto -> new AuthToken(
+                Integer.parseInt(fields[1]),
+                EMPTY.equals(fields[6]) ? null : fields[6],
+                EMPTY.equals(fields[3]) ? null : crypto.decrypt(unfield(fields[3])),
+                crypto.decrypt(unfield(fields[2])),
+                unscopes(fields[5]),
+                EMPTY.equals(fields[4]) ? null : new Timestamp(Long.parseLong(fields[4]))
+        ));
+    }
+
+    // Fields are base64 encoded so the log stays line based whatever the cipher outputs
+    private static String field(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String unfield(String value) {
+        return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+
+    // Scopes are stored as space separated scope strings, the bitmask is only built in memory
+    private static String scopes(HashSet<Scope> scopes) {
+        if (scopes.isEmpty()) return EMPTY;
+        return String.join(" ", scopes.stream().map(Scope::getScope).toList());
+    }
+
+    private static long[] unscopes(String value) {
+        var scopes = EnumSet.noneOf(Scope.class);
+        if (EMPTY.equals(value)) return Scope.toMask(scopes);
+        for (var scope : value.split(" ")) {
+            try {
+                scopes.add(Scope.getScope(scope));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping unknown stored scope: " + scope); // Removed from Scope
+            }
+        }
+        return Scope.toMask(scopes);
+    }
+
+    // Unfenced upsert, bumps the epoch so in-flight refreshes cannot overwrite it
+    @Override
+    public void addRefreshToken(AuthToken authToken) {
+
+        // Check authToken
+        if (authToken == null) throw new IllegalArgumentException("AuthToken cannot be null");
+
+        // Encrypt outside the lock
+        var record = encode(authToken);
+        synchronized (this) {
+            append(List.of(record));
+            records.put(authToken.getId(), record);
+            supersede(authToken.getId());
+            compactIfSparse();
+        }
+    }
+
+    // One append and one sync for the whole batch
+    @Override
+    public void addRefreshTokens(Collection<AuthToken> authTokens) {
+
+        // Check authTokens
+        if (authTokens == null) throw new IllegalArgumentException("AuthTokens cannot be null");
+        if (authTokens.isEmpty()) return;
+
+        // Encrypt outside the lock
+        var encoded = (authTokens.size() > 1 ? authTokens.parallelStream() : authTokens.stream()).map(this::encode).toList();
+        synchronized (this) {
+            append(encoded);
+            var index = 0;
+            for (var authToken : authTokens) {
+                records.put(authToken.getId(), encoded.get(index++));
+                supersede(authToken.getId());
+            }
+            compactIfSparse();
+        }
+    }
+
+    // Fence out the lease of an overwritten token
+    private void supersede(Integer id) {
+        epochs.merge(id, 1L, Long::sum);
+        leases.remove(id);
+    }
+
+    @Override
+    public synchronized void deleteRefreshToken(Integer id) {
+
+        // Check ID
+        if (id == null || id < 1) throw new IllegalArgumentException("ID cannot be null or less than 1");
+
+        // Append tombstone
+        if (!records.containsKey(id)) return;
+        append(List.of(DELETE + SEPARATOR + id));
+        records.remove(id);
+        leases.remove(id);
+        compactIfSparse();
+    }
+
+    @Override
+    public @Nullable AuthToken getAuthToken(Integer id) {
+
+        // Check ID
+        if (id == null || id < 1) throw new IllegalArgumentException("ID cannot be null or less than 1");
+
+        // Decrypt outside the lock
+        String record;
+        synchronized (this) {
+            record = records.get(id);
+        }
+        return record == null ? null : decode(record);
+    }
+
+    @Override
+    public HashMap<Integer, AuthToken> getAuthTokens() {
+
+        // Snapshot records
+        ArrayList<String> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(records.values());
+        }
+
+        // Decrypt records
+        HashMap<Integer, AuthToken> authTokens = HashMap.newHashMap(snapshot.size());
+        for (var authToken : (snapshot.size() > 1 ? snapshot.parallelStream() : snapshot.stream()).map(this::decode).toList()) authTokens.put(authToken.getId(), authToken);
+        return authTokens;
+    }
+
+    // Leases only live in memory, a file store is never shared between nodes
+    @Override
+    public synchronized long acquireLease(Integer id, String owner, Duration duration) {
+
+        // Check Parameters
+        if (id == null || id < 1) throw new IllegalArgumentException("ID cannot be null or less than 1");
+        if (owner == null || owner.isBlank()) throw new IllegalArgumentException("Owner cannot be null or empty");
+        if (duration == null || duration.isNegative() || duration.isZero()) throw new IllegalArgumentException("Duration must be greater than 0");
+
+        // Take a free or expired lease, an unexpired own lease is held as well
+        if (!records.containsKey(id)) return LEASE_MISSING;
+        var lease = leases.get(id);
+        var now = System.currentTimeMillis();
+        if (lease != null && lease.until >= now) return LEASE_HELD;
+        var epoch = epochs.merge(id, 1L, Long::sum);
+        leases.put(id, new Lease(owner, now + duration.toMillis(), epoch));
+        return epoch;
+    }
+
+    @Override
+    public boolean addRefreshToken(AuthToken authToken, long epoch) {
+
+        // Check authToken
+        if (authToken == null) throw new IllegalArgumentException("AuthToken cannot be null");
+
+        // Store if the epoch still matches
+        var record = encode(authToken);
+        synchronized (this) {
+            if (!records.containsKey(authToken.getId()) || epochs.getOrDefault(authToken.getId(), 0L) != epoch) return false;
+            append(List.of(record));
+            records.put(authToken.getId(), record);
+            leases.remove(authToken.getId());
+            compactIfSparse();
+            return true;
+        }
+    }
+
+    // Store many refreshed tokens with one append, each only if its epoch still matches
+    @Override
+    public HashSet<Integer> addRefreshTokens(Collection<AuthToken> authTokens, Map<Integer, Long> epochs) {
+
+        // Check Parameters
+        if (authTokens == null) throw new IllegalArgumentException("AuthTokens cannot be null");
+        if (epochs == null) throw new IllegalArgumentException("Epochs cannot be null");
+        var stored = new HashSet<Integer>();
+        if (authTokens.isEmpty()) return stored;
+
+        // Encrypt outside the lock
+        var encoded = (authTokens.size() > 1 ? authTokens.parallelStream() : authTokens.stream()).map(this::encode).toList();
+        synchronized (this) {
+
+            // Fence each token
+            var fenced = new LinkedHashMap<Integer, String>();
+            var index = 0;
+            for (var authToken : authTokens) {
+                var record = encoded.get(index++);
+                var epoch = epochs.get(authToken.getId());
+                if (epoch == null || !records.containsKey(authToken.getId()) || this.epochs.getOrDefault(authToken.getId(), 0L) != (long) epoch) continue;
+                fenced.put(authToken.getId(), record);
+            }
+
+            // Append and apply the fenced tokens
+            if (fenced.isEmpty()) return stored;
+            append(fenced.values());
+            fenced.forEach((id, record) -> {
+                records.put(id, record);
+                leases.remove(id);
+                stored.add(id);
+            });
+            compactIfSparse();
+            return stored;
+        }
+    }
+
+    @Override
+    public synchronized void releaseLease(Integer id, String owner, long epoch) {
+        var lease = leases.get(id);
+        if (lease != null && lease.owner.equals(owner) && lease.epoch == epoch) leases.remove(id);
+    }
+
+    // Close the log and release the lock, entries are already synced
+    public synchronized void close() {
+        unlock();
+    }
+
+    // Refresh lease of one token
+    private static class Lease {
+
+        // Attributes
+        private final String owner;
+        private final long until;
+        private final long epoch;
+
+        // Constructor
+        private Lease(String owner, long until, long epoch) {
+            this.owner = owner;
+            this.until = until;
+            this.epoch = epoch;
+        }
+    }
+
+    // Getter
+    public Path getPath() {
+        return path;
+    }
+
+    public synchronized int size() {
+        return records.size();
+    }
+
+    public synchronized int getEntryCount() {
+        return entries;
+    }
+
+    public int getCompactThreshold() {
+        return compactThreshold;
+    }
+}
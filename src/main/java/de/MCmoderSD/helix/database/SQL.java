@@ -1,23 +1,65 @@
 package de.MCmoderSD.helix.database;
 
+import com.github.twitch4j.helix.domain.User;
+
 import de.MCmoderSD.encryption.core.Encryption;
+import de.MCmoderSD.helix.enums.Scope;
 import de.MCmoderSD.helix.objects.AuthToken;
 import de.MCmoderSD.sql.Driver;
 
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.PropertyNamingStrategies;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.JsonNodeFactory;
+
+import org.jetbrains.annotations.Nullable;
+
 import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 
 @SuppressWarnings("unused")
-public class SQL extends Driver {
+public class SQL extends Driver implements TokenStore {
+
+    // Constants
+    private static final String[] TABLES = {"database/RefreshToken.sql", "database/RefreshTokenMigration.sql", "database/TwitchUser.sql"};
+    private static final int MAX_PARAMETERS = 1000; // Max IDs per IN clause
+
+    // Reader for Helix users, rows use the same snake case names as Helix
+    private static final ObjectReader USER_READER = JsonMapper.builder()
+            .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .build()
+            .readerFor(User.class);
 
     // Associations
-    private final Encryption encryption;
+    private final EncryptionPool encryption;    // Bounded ciphers, cipher state is never shared
+    private final boolean parallel;             // Bulk crypto runs in parallel
 
     // Constructor
     public SQL(Builder builder, Encryption encryption) {
+        this(builder, new EncryptionPool(() -> encryption, 1), false);
+    }
+
+    public SQL(Builder builder, Supplier<Encryption> encryption) {
+        this(builder, new EncryptionPool(encryption), true);
+    }
+
+    private SQL(Builder builder, EncryptionPool encryption, boolean parallel) {
 
         // Call Super
         super(builder);
@@ -28,24 +70,28 @@ public class SQL extends Driver {
 
         // Set Associations
         this.encryption = encryption;
+        this.parallel = parallel;
 
         // Initialize Database Tables
-        try (var bis = new BufferedInputStream(Objects.requireNonNull(SQL.class.getClassLoader().getResourceAsStream("database/RefreshToken.sql")))) {
+        for (var path : TABLES) {
+            try (var bis = new BufferedInputStream(Objects.requireNonNull(SQL.class.getClassLoader().getResourceAsStream(path)))) {
 
-            // Read SQL file
-            var table = new String(bis.readAllBytes());
+                // Read SQL file
+                var table = new String(bis.readAllBytes());
 
-            // Execute SQL statement
-            var preparedStatement = connection.prepareStatement(table);
-            preparedStatement.executeUpdate();
-            preparedStatement.close();
+                // Execute SQL statement
+                var preparedStatement = connection.prepareStatement(table);
+                preparedStatement.executeUpdate();
+                preparedStatement.close();
 
-        } catch (IOException | SQLException e) {
-            throw new RuntimeException("Failed to initialize database tables: " + e.getMessage(), e);
+            } catch (IOException | SQLException e) {
+                throw new RuntimeException("Failed to initialize database tables: " + e.getMessage(), e);
+            }
         }
     }
 
-    // Add or update a refresh token
+    // Add or update a refresh token, bumps the epoch so in-flight refreshes cannot overwrite it
+    @Override
     public void addRefreshToken(AuthToken authToken) {
         try {
 
@@ -54,16 +100,23 @@ public class SQL extends Driver {
 
             // Variables
             var token = encryption.encrypt(authToken.getRefreshToken());
+            var accessToken = authToken.getAccessToken() == null ? null : encryption.encrypt(authToken.getAccessToken());
+            var scopes = formatScopes(authToken.getScopes());
 
             // SQL statement to insert or update the token
             var preparedStatement = connection.prepareStatement(
-                    "INSERT INTO RefreshToken (id, token) VALUES (?, ?) ON DUPLICATE KEY UPDATE token = ?"
+                    "INSERT INTO RefreshToken (id, token, access_token, expires_at, scopes, login) VALUES (?, ?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE token = VALUES(token), access_token = VALUES(access_token), expires_at = VALUES(expires_at), scopes = VALUES(scopes), login = VALUES(login), " +
+                    "lease_owner = NULL, lease_until = NULL, epoch = epoch + 1"
             );
 
             // Set the parameters
-            preparedStatement.setInt(1, authToken.getId()); // insert id
-            preparedStatement.setString(2, token);          // insert token
-            preparedStatement.setString(3, token);          // update token
+            preparedStatement.setInt(1, authToken.getId());                 // id
+            preparedStatement.setString(2, token);                          // refresh token
+            preparedStatement.setString(3, accessToken);                    // access token
+            preparedStatement.setTimestamp(4, authToken.getNextRefresh());  // expiry
+            preparedStatement.setString(5, scopes);                         // scopes
+            preparedStatement.setString(6, authToken.getLogin());           // login
             preparedStatement.executeUpdate(); // execute
 
             // Close the statement
@@ -74,7 +127,245 @@ public class SQL extends Driver {
         }
     }
 
+    // Add or update many refresh tokens in one batch, bumps their epochs like addRefreshToken
+    @Override
+    public void addRefreshTokens(Collection<AuthToken> authTokens) {
+        try {
+
+            // Check authTokens
+            if (authTokens == null) throw new IllegalArgumentException("AuthTokens cannot be null");
+            if (authTokens.isEmpty()) return;
+
+            // Encrypt tokens
+            var encrypted = stream(authTokens).map(this::encrypt).toList();
+
+            // SQL statement to insert or update the tokens
+            var preparedStatement = connection.prepareStatement(
+                    "INSERT INTO RefreshToken (id, token, access_token, expires_at, scopes, login) VALUES (?, ?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE token = VALUES(token), access_token = VALUES(access_token), expires_at = VALUES(expires_at), scopes = VALUES(scopes), login = VALUES(login), " +
+                    "lease_owner = NULL, lease_until = NULL, epoch = epoch + 1"
+            );
+
+            // Add batch
+            var index = 0;
+            for (var authToken : authTokens) {
+                var tokens = encrypted.get(index++);
+                preparedStatement.setInt(1, authToken.getId());                             // id
+                preparedStatement.setString(2, tokens[0]);                                  // refresh token
+                preparedStatement.setString(3, tokens[1]);                                  // access token
+                preparedStatement.setTimestamp(4, authToken.getNextRefresh());              // expiry
+                preparedStatement.setString(5, formatScopes(authToken.getScopes()));        // scopes
+                preparedStatement.setString(6, authToken.getLogin());                       // login
+                preparedStatement.addBatch();
+            }
+
+            // Execute batch
+            preparedStatement.executeBatch();
+
+            // Close the statement
+            preparedStatement.close();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add or update RefreshTokens: " + e.getMessage(), e);
+        }
+    }
+
+    // Encrypt refresh and access token of a token
+    private String[] encrypt(AuthToken authToken) {
+        return encryption.apply(crypto -> new String[] {
+                crypto.encrypt(authToken.getRefreshToken()),
+                authToken.getAccessToken() == null ? null : crypto.encrypt(authToken.getAccessToken())
+        });
+    }
+
+    // Take the refresh lease of a token, returns the new fencing epoch, LEASE_HELD while any lease is unexpired or LEASE_MISSING
+    @Override
+    public long acquireLease(Integer id, String owner, Duration duration) {
+        try {
+
+            // Check Parameters
+            if (id == null || id < 1) throw new IllegalArgumentException("ID cannot be null or less than 1");
+            if (owner == null || owner.isBlank()) throw new IllegalArgumentException("Owner cannot be null or empty");
+            if (duration == null || duration.isNegative() || duration.isZero()) throw new IllegalArgumentException("Duration must be greater than 0");
+
+            // SQL statement to take a free or expired lease, an unexpired own lease is held as well
+            var preparedStatement = connection.prepareStatement(
+                    "UPDATE RefreshToken SET lease_owner = ?, lease_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP), epoch = epoch + 1 " +
+                    "WHERE id = ? AND (lease_owner IS NULL OR lease_until < CURRENT_TIMESTAMP)"
+            );
+
+            // Set the parameters
+            preparedStatement.setString(1, owner);
+            preparedStatement.setLong(2, duration.toSeconds());
+            preparedStatement.setInt(3, id);
+            var acquired = preparedStatement.executeUpdate() == 1;
+            preparedStatement.close();
+            if (!acquired) return exists(id) ? LEASE_HELD : LEASE_MISSING;
+
+            // SQL statement to read the new epoch
+            preparedStatement = connection.prepareStatement(
+                    "SELECT epoch FROM RefreshToken WHERE id = ? AND lease_owner = ?"
+            );
+
+            // Set the parameters
+            preparedStatement.setInt(1, id);
+            preparedStatement.setString(2, owner);
+
+            // Execute the query
+            var resultSet = preparedStatement.executeQuery();
+            var epoch = resultSet.next() ? resultSet.getLong("epoch") : LEASE_MISSING;
+
+            // Close the result set and statement
+            resultSet.close();
+            preparedStatement.close();
+
+            // Return the epoch
+            return epoch;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to acquire lease of RefreshToken with id " + id + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Check if a token is stored
+    private boolean exists(Integer id) throws SQLException {
+
+        // SQL statement to check the token
+        var preparedStatement = connection.prepareStatement(
+                "SELECT 1 FROM RefreshToken WHERE id = ?"
+        );
+
+        // Set the parameters
+        preparedStatement.setInt(1, id);
+
+        // Execute the query
+        var resultSet = preparedStatement.executeQuery();
+        var exists = resultSet.next();
+
+        // Close the result set and statement
+        resultSet.close();
+        preparedStatement.close();
+
+        // Return if the token exists
+        return exists;
+    }
+
+    // Store a refreshed token and release the lease, fails if the lease was taken over meanwhile
+    @Override
+    public boolean addRefreshToken(AuthToken authToken, long epoch) {
+        try {
+
+            // Check authToken
+            if (authToken == null) throw new IllegalArgumentException("AuthToken cannot be null");
+
+            // SQL statement to update the token if the epoch still matches
+            var preparedStatement = connection.prepareStatement(
+                    "UPDATE RefreshToken SET token = ?, access_token = ?, expires_at = ?, scopes = ?, login = ?, lease_owner = NULL, lease_until = NULL " +
+                    "WHERE id = ? AND epoch = ?"
+            );
+
+            // Set the parameters
+            preparedStatement.setString(1, encryption.encrypt(authToken.getRefreshToken()));                                                 // refresh token
+            preparedStatement.setString(2, authToken.getAccessToken() == null ? null : encryption.encrypt(authToken.getAccessToken()));       // access token
+            preparedStatement.setTimestamp(3, authToken.getNextRefresh());                                                              // expiry
+            preparedStatement.setString(4, formatScopes(authToken.getScopes()));                                                        // scopes
+            preparedStatement.setString(5, authToken.getLogin());                                                                       // login
+            preparedStatement.setInt(6, authToken.getId());                                                                             // id
+            preparedStatement.setLong(7, epoch);                                                                                        // fencing epoch
+            var updated = preparedStatement.executeUpdate() == 1;
+
+            // Close the statement
+            preparedStatement.close();
+
+            // Return if the token was stored
+            return updated;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update RefreshToken with id " + authToken.getId() + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Store many refreshed tokens in one batch, each row is fenced by its own epoch
+    @Override
+    public HashSet<Integer> addRefreshTokens(Collection<AuthToken> authTokens, Map<Integer, Long> epochs) {
+        try {
+
+            // Check Parameters
+            if (authTokens == null) throw new IllegalArgumentException("AuthTokens cannot be null");
+            if (epochs == null) throw new IllegalArgumentException("Epochs cannot be null");
+            var stored = new HashSet<Integer>();
+            var fenced = authTokens.stream().filter(authToken -> epochs.containsKey(authToken.getId())).toList();
+            if (fenced.isEmpty()) return stored;
+
+            // Encrypt tokens
+            var encrypted = stream(fenced).map(this::encrypt).toList();
+
+            // SQL statement to update each token if its epoch still matches
+            var preparedStatement = connection.prepareStatement(
+                    "UPDATE RefreshToken SET token = ?, access_token = ?, expires_at = ?, scopes = ?, login = ?, lease_owner = NULL, lease_until = NULL " +
+                    "WHERE id = ? AND epoch = ?"
+            );
+
+            // Add batch
+            for (var i = 0; i < fenced.size(); i++) {
+                var authToken = fenced.get(i);
+                var tokens = encrypted.get(i);
+                preparedStatement.setString(1, tokens[0]);                                  // refresh token
+                preparedStatement.setString(2, tokens[1]);                                  // access token
+                preparedStatement.setTimestamp(3, authToken.getNextRefresh());              // expiry
+                preparedStatement.setString(4, formatScopes(authToken.getScopes()));        // scopes
+                preparedStatement.setString(5, authToken.getLogin());                       // login
+                preparedStatement.setInt(6, authToken.getId());                             // id
+                preparedStatement.setLong(7, epochs.get(authToken.getId()));                // fencing epoch
+                preparedStatement.addBatch();
+            }
+
+            // Execute batch
+            var counts = preparedStatement.executeBatch();
+
+            // Close the statement
+            preparedStatement.close();
+
+            // Rows without a count are written again one by one, the fenced update is idempotent
+            for (var i = 0; i < fenced.size(); i++) {
+                var authToken = fenced.get(i);
+                if (counts[i] == 1 || counts[i] == Statement.SUCCESS_NO_INFO && addRefreshToken(authToken, epochs.get(authToken.getId()))) stored.add(authToken.getId());
+            }
+
+            // Return the stored IDs
+            return stored;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update RefreshTokens: " + e.getMessage(), e);
+        }
+    }
+
+    // Give up a lease without storing a token
+    @Override
+    public void releaseLease(Integer id, String owner, long epoch) {
+        try {
+
+            // SQL statement to release the lease
+            var preparedStatement = connection.prepareStatement(
+                    "UPDATE RefreshToken SET lease_owner = NULL, lease_until = NULL WHERE id = ? AND lease_owner = ? AND epoch = ?"
+            );
+
+            // Set the parameters
+            preparedStatement.setInt(1, id);
+            preparedStatement.setString(2, owner);
+            preparedStatement.setLong(3, epoch);
+            preparedStatement.executeUpdate();
+
+            // Close the statement
+            preparedStatement.close();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to release lease of RefreshToken with id " + id + ": " + e.getMessage(), e);
+        }
+    }
+
     // Delete a refresh token
+    @Override
     public void deleteRefreshToken(Integer id) {
         try {
 
@@ -98,8 +389,41 @@ public class SQL extends Driver {
         }
     }
 
-    // Retrieve all refresh Tokens
-    public HashMap<Integer, String> getRefreshTokens() {
+    // Retrieve a single stored token
+    @Override
+    public @Nullable AuthToken getAuthToken(Integer id) {
+        try {
+
+            // Check ID
+            if (id == null || id < 1) throw new IllegalArgumentException("ID cannot be null or less than 1");
+
+            // SQL statement to select the token
+            var preparedStatement = connection.prepareStatement(
+                    "SELECT * FROM RefreshToken WHERE id = ?"
+            );
+
+            // Set the parameters
+            preparedStatement.setInt(1, id);
+
+            // Execute the query
+            var resultSet = preparedStatement.executeQuery();
+            var authToken = resultSet.next() ? readAuthToken(resultSet) : null;
+
+            // Close the result set and statement
+            resultSet.close();
+            preparedStatement.close();
+
+            // Return the token
+            return authToken;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to retrieve RefreshToken with id " + id + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Retrieve all stored tokens
+    @Override
+    public HashMap<Integer, AuthToken> getAuthTokens() {
         try {
 
             // SQL statement to select all tokens
@@ -110,19 +434,235 @@ public class SQL extends Driver {
             // Execute the query
             var resultSet = preparedStatement.executeQuery();
 
-            // Process the result set
-            var refreshTokens = new HashMap<Integer, String>();
-            while (resultSet.next()) refreshTokens.put(resultSet.getInt("id"), encryption.decrypt(resultSet.getString("token")));
+            // Read encrypted rows
+            var rows = new ArrayList<EncryptedToken>();
+            while (resultSet.next()) rows.add(new EncryptedToken(resultSet));
 
             // Close the result set and statement
             resultSet.close();
             preparedStatement.close();
 
-            // Return the refresh tokens
-            return refreshTokens;
+            // Decrypt rows
+            HashMap<Integer, AuthToken> authTokens = HashMap.newHashMap(rows.size());
+            for (var authToken : stream(rows).map(this::decrypt).toList()) authTokens.put(authToken.getId(), authToken);
+
+            // Return the tokens
+            return authTokens;
 
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to retrieve refresh tokens: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to retrieve tokens: " + e.getMessage(), e);
+        }
+    }
+
+    // Convert row to token, access token and expiry are null if never stored
+    private AuthToken readAuthToken(ResultSet resultSet) throws SQLException {
+        return decrypt(new EncryptedToken(resultSet));
+    }
+
+    private AuthToken decrypt(EncryptedToken row) {
+        return encryption.apply(crypto -> new AuthToken(
+                row.id,
+                row.login,
+                row.accessToken == null ? null : crypto.decrypt(row.accessToken),
+                crypto.decrypt(row.refreshToken),
+                Scope.toMask(parseScopes(row.scopes)),
+                row.expiresAt
+        ));
+    }
+
+    // Bulk crypto is spread over the common pool, workers borrow ciphers from the pool
+    private <T> Stream<T> stream(Collection<T> items) {
+        return parallel && items.size() > 1 ? items.parallelStream() : items.stream();
+    }
+
+    // Row as stored, decrypted after the result set is closed
+    private static class EncryptedToken {
+
+        // Attributes
+        private final int id;
+        private final @Nullable String login;
+        private final String refreshToken;
+        private final @Nullable String accessToken;
+        private final @Nullable Timestamp expiresAt;
+        private final @Nullable String scopes;
+
+        // Constructor
+        private EncryptedToken(ResultSet resultSet) throws SQLException {
+            id = resultSet.getInt("id");
+            login = resultSet.getString("login");
+            refreshToken = resultSet.getString("token");
+            accessToken = resultSet.getString("access_token");
+            expiresAt = resultSet.getTimestamp("expires_at");
+            scopes = resultSet.getString("scopes");
+        }
+    }
+
+    // Scopes are stored as space separated scope strings
+    private static @Nullable String formatScopes(@Nullable Set<Scope> scopes) {
+        if (scopes == null) return null;
+        return String.join(" ", scopes.stream().map(Scope::getScope).toList());
+    }
+
+    // Scope strings are the stored truth, the bitmask is only built in memory
+    private static HashSet<Scope> parseScopes(@Nullable String scopes) {
+        var result = new HashSet<Scope>();
+        if (scopes == null || scopes.isBlank()) return result;
+        for (var scope : scopes.split(" ")) {
+            try {
+                result.add(Scope.getScope(scope));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping unknown stored scope: " + scope); // Removed from Scope
+            }
+        }
+        return result;
+    }
+
+    // Add or update twitch users
+    public void addTwitchUsers(Collection<User> users) {
+        try {
+
+            // Check users
+            if (users == null) throw new IllegalArgumentException("Users cannot be null");
+            if (users.isEmpty()) return;
+
+            // SQL statement to insert or update the users
+            var preparedStatement = connection.prepareStatement(
+                    "INSERT INTO TwitchUser (id, login, display_name, type, broadcaster_type, description, profile_image_url, offline_image_url, created_at, last_seen) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+                    "ON DUPLICATE KEY UPDATE login = VALUES(login), display_name = VALUES(display_name), type = VALUES(type), broadcaster_type = VALUES(broadcaster_type), " +
+                    "description = VALUES(description), profile_image_url = VALUES(profile_image_url), offline_image_url = VALUES(offline_image_url), created_at = VALUES(created_at), last_seen = CURRENT_TIMESTAMP"
+            );
+
+            // Add batch
+            for (var user : users) {
+                preparedStatement.setInt(1, Integer.parseInt(user.getId()));                                                // id
+                preparedStatement.setString(2, user.getLogin().toLowerCase());                                              // login
+                preparedStatement.setString(3, Objects.requireNonNullElse(user.getDisplayName(), user.getLogin()));        // display name
+                preparedStatement.setString(4, Objects.requireNonNullElse(user.getType(), ""));                             // type
+                preparedStatement.setString(5, Objects.requireNonNullElse(user.getBroadcasterType(), ""));                  // broadcaster type
+                preparedStatement.setString(6, Objects.requireNonNullElse(user.getDescription(), ""));                      // description
+                preparedStatement.setString(7, Objects.requireNonNullElse(user.getProfileImageUrl(), ""));                  // profile image url
+                preparedStatement.setString(8, Objects.requireNonNullElse(user.getOfflineImageUrl(), ""));                  // offline image url
+                preparedStatement.setTimestamp(9, user.getCreatedAt() == null ? null : Timestamp.from(user.getCreatedAt())); // created at
+                preparedStatement.addBatch();
+            }
+
+            // Execute batch
+            preparedStatement.executeBatch();
+
+            // Close the statement
+            preparedStatement.close();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add or update twitch users: " + e.getMessage(), e);
+        }
+    }
+
+    // Retrieve the most recently seen twitch users
+    public ArrayList<User> getTwitchUsers(Timestamp seenAfter, int limit) {
+        try {
+
+            // Check parameters
+            if (seenAfter == null) throw new IllegalArgumentException("Seen after cannot be null");
+            if (limit < 1) throw new IllegalArgumentException("Limit must be greater than 0");
+
+            // SQL statement to select the users
+            var preparedStatement = connection.prepareStatement(
+                    "SELECT * FROM TwitchUser WHERE last_seen >= ? ORDER BY last_seen DESC LIMIT ?"
+            );
+
+            // Set the parameters
+            preparedStatement.setTimestamp(1, seenAfter);
+            preparedStatement.setInt(2, limit);
+
+            // Execute the query
+            var resultSet = preparedStatement.executeQuery();
+            var users = readTwitchUsers(resultSet);
+
+            // Close the result set and statement
+            resultSet.close();
+            preparedStatement.close();
+
+            // Return the users
+            return users;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to retrieve twitch users: " + e.getMessage(), e);
+        }
+    }
+
+    // Retrieve twitch users with IDs
+    public ArrayList<User> getTwitchUsersByIDs(Collection<Integer> ids, Timestamp seenAfter) {
+        return getTwitchUsersBy("id", new ArrayList<>(ids), seenAfter);
+    }
+
+    // Retrieve twitch users with names
+    public ArrayList<User> getTwitchUsersByName(Collection<String> usernames, Timestamp seenAfter) {
+        return getTwitchUsersBy("login", usernames.stream().map(String::toLowerCase).toList(), seenAfter);
+    }
+
+    private ArrayList<User> getTwitchUsersBy(String column, List<?> keys, Timestamp seenAfter) {
+        try {
+
+            // Check parameters
+            if (seenAfter == null) throw new IllegalArgumentException("Seen after cannot be null");
+            var users = new ArrayList<User>(keys.size());
+            if (keys.isEmpty()) return users;
+
+            // Query in chunks
+            for (var i = 0; i < keys.size(); i += MAX_PARAMETERS) {
+
+                // Build placeholders
+                var chunk = keys.subList(i, Math.min(i + MAX_PARAMETERS, keys.size()));
+                var placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+
+                // SQL statement to select the users
+                var preparedStatement = connection.prepareStatement(
+                        "SELECT * FROM TwitchUser WHERE " + column + " IN (" + placeholders + ") AND last_seen >= ?"
+                );
+
+                // Set the parameters
+                for (var j = 0; j < chunk.size(); j++) preparedStatement.setObject(j + 1, chunk.get(j));
+                preparedStatement.setTimestamp(chunk.size() + 1, seenAfter);
+
+                // Execute the query
+                var resultSet = preparedStatement.executeQuery();
+                users.addAll(readTwitchUsers(resultSet));
+
+                // Close the result set and statement
+                resultSet.close();
+                preparedStatement.close();
+            }
+
+            // Return the users
+            return users;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to retrieve twitch users: " + e.getMessage(), e);
+        }
+    }
+
+    // Convert rows to Helix users
+    private static ArrayList<User> readTwitchUsers(ResultSet resultSet) throws SQLException {
+        var users = new ArrayList<User>();
+        while (resultSet.next()) {
+
+            // Read row
+            var row = JsonNodeFactory.instance.objectNode();
+            row.put("id", String.valueOf(resultSet.getInt("id")));
+            row.put("login", resultSet.getString("login"));
+            row.put("display_name", resultSet.getString("display_name"));
+            row.put("type", resultSet.getString("type"));
+            row.put("broadcaster_type", resultSet.getString("broadcaster_type"));
+            row.put("description", resultSet.getString("description"));
+            row.put("profile_image_url", resultSet.getString("profile_image_url"));
+            row.put("offline_image_url", resultSet.getString("offline_image_url"));
+            var createdAt = resultSet.getTimestamp("created_at");
+            if (createdAt != null) row.put("created_at", createdAt.toInstant().toString());
+
+            // Convert row
+            users.add(USER_READER.readValue(row));
         }
+        return users;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package de.MCmoderSD.helix.database;
+
+import de.MCmoderSD.helix.objects.AuthToken;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+// Persistent storage of user tokens
+@SuppressWarnings("unused")
+public interface TokenStore {
+
+    // Lease results
+    long LEASE_HELD = -1;       // A refresh of any node, this one included, holds an unexpired lease
+    long LEASE_MISSING = -2;    // Token is not stored
+
+    // Load
+    HashMap<Integer, AuthToken> getAuthTokens();
+    @Nullable AuthToken getAuthToken(Integer id);
+
+    // Upsert
+    void addRefreshToken(AuthToken authToken);
+    void addRefreshTokens(Collection<AuthToken> authTokens);
+
+    // Delete
+    void deleteRefreshToken(Integer id);
+
+    // Refresh lease, returns the new fencing epoch, LEASE_HELD or LEASE_MISSING
+    long acquireLease(Integer id, String owner, Duration duration);
+    boolean addRefreshToken(AuthToken authToken, long epoch);
+    HashSet<Integer> addRefreshTokens(Collection<AuthToken> authTokens, Map<Integer, Long> epochs); // Returns the IDs that were stored
+    void releaseLease(Integer id, String owner, long epoch);
+}
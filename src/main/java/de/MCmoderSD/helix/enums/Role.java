@@ -0,0 +1,33 @@
+package de.MCmoderSD.helix.enums;
+
+import java.time.Duration;
+
+@SuppressWarnings("unused")
+public enum Role {
+
+    // Channel Roles
+    MODERATORS(     "moderators",   Duration.ofMinutes(30)  ),
+    VIPS(           "vips",         Duration.ofMinutes(30)  ),
+    SUBSCRIBERS(    "subscribers",  Duration.ofMinutes(15)  ),
+    FOLLOWERS(      "followers",    Duration.ofMinutes(15)  );
+
+    // Attributes
+    private final String name;
+    private final Duration defaultTtl;
+
+    // Constructor
+    Role(String name, Duration defaultTtl) {
+        this.name = name;
+        this.defaultTtl = defaultTtl;
+    }
+
+    // Getter
+    public String getName() {
+        return name;
+    }
+
+    // Time a cached role set is kept without being read again from Helix
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+}
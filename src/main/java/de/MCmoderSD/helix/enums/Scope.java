@@ -1,6 +1,8 @@
 package de.MCmoderSD.helix.enums;
 
 import java.io.Serializable;
+import java.util.EnumSet;
+import java.util.HashMap;
 
 /**
  * Represents the available <a href="https://dev.twitch.tv/docs/authentication/scopes/">
@@ -125,11 +127,42 @@ public enum Scope implements Serializable {
         this.scope = scope;
     }
 
+    // Index of scope strings, built once
+    private static final HashMap<String, Scope> INDEX;
+    private static final Scope[] VALUES = values();
+    public static final int MASK_LENGTH = (VALUES.length + 63) >>> 6; // Longs per scope mask
+
+    static {
+        INDEX = HashMap.newHashMap(VALUES.length);
+        for (var value : VALUES) INDEX.put(value.scope, value);
+    }
+
     // Static Getter
     public static Scope getScope(String scope) {
         if (scope == null || scope.isBlank()) throw new IllegalArgumentException("Scope cannot be null or blank");
-        for (var value : Scope.values()) if (value.getScope().equals(scope)) return value;
-        throw new IllegalArgumentException("Invalid scope: " + scope);
+        var value = INDEX.get(scope);
+        if (value == null) throw new IllegalArgumentException("Invalid scope: " + scope);
+        return value;
+    }
+
+    // Bitmask with one bit per scope ordinal, ordinals change with the enum so masks are never stored
+    public static long[] toMask(Iterable<Scope> scopes) {
+        var mask = new long[MASK_LENGTH];
+        if (scopes != null) for (var scope : scopes) mask[scope.ordinal() >>> 6] |= 1L << scope.ordinal();
+        return mask;
+    }
+
+    public static EnumSet<Scope> fromMask(long[] mask) {
+        var scopes = EnumSet.noneOf(Scope.class);
+        if (mask == null) return scopes;
+        for (var value : VALUES) if (value.isIn(mask)) scopes.add(value);
+        return scopes;
+    }
+
+    // Check bit of this scope
+    public boolean isIn(long[] mask) {
+        var index = ordinal() >>> 6;
+        return index < mask.length && (mask[index] & (1L << ordinal())) != 0;
     }
 
     // Getters
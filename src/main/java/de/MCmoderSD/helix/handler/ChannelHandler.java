@@ -2,13 +2,19 @@ package de.MCmoderSD.helix.handler;
 
 import com.github.twitch4j.helix.TwitchHelix;
 
+import de.MCmoderSD.helix.cache.UserBatcher;
+import de.MCmoderSD.helix.cache.UserCache;
 import de.MCmoderSD.helix.core.TokenHandler;
 import de.MCmoderSD.helix.enums.Scope;
 import de.MCmoderSD.helix.objects.ChannelInfo;
 import de.MCmoderSD.helix.objects.TwitchUser;
+import de.MCmoderSD.helix.utilities.ChunkedFetcher;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 
 @SuppressWarnings("unused")
 public class ChannelHandler extends Handler {
@@ -19,8 +25,8 @@ public class ChannelHandler extends Handler {
     };
 
     // Constructor
-    public ChannelHandler(TwitchHelix helix, TokenHandler tokenHandler) {
-        super(helix, tokenHandler);
+    public ChannelHandler(TwitchHelix helix, TokenHandler tokenHandler, UserCache userCache, UserBatcher userBatcher) {
+        super(helix, tokenHandler, userCache, userBatcher);
     }
 
 
@@ -33,35 +39,47 @@ public class ChannelHandler extends Handler {
         // Check Parameters
         if (channels == null || channels.isEmpty()) throw new IllegalArgumentException("Channels cannot be null or empty");
 
-        // Check size and chunk
-        var size = channels.size();
-        if (channels.size() > LIMIT) {
-            var channelInfo = new HashSet<ChannelInfo>();
-            for (var i = 0; i < size; i += LIMIT) channelInfo.addAll(getChannelInfo(new HashSet<>(channels.stream().toList().subList(i, Math.min(i + LIMIT, size)))));
-            return channelInfo;
-        }
+        // Get channel information in parallel chunks
+        var channelInfo = ChunkedFetcher.fetch(channels, LIMIT, parallelism, this::requestChannelInfo);
+        if (channelInfo.isEmpty()) throw new IllegalStateException("Failed to get channel information");
+
+        // Return channel info
+        return new HashSet<>(channelInfo);
+    }
+
+    // Single request for up to 100 channels
+    private List<ChannelInfo> requestChannelInfo(List<TwitchUser> channels) {
+
+        // Index channels by ID
+        HashMap<String, TwitchUser> channelMap = HashMap.newHashMap(channels.size());
+        for (var channel : channels) channelMap.put(channel.getId().toString(), channel);
 
         // Get channel information
-        var information = helix.getChannelInformation(null, channels.stream().map(channel -> channel.getId().toString()).toList()).execute();
+        var information = helix.getChannelInformation(null, new ArrayList<>(channelMap.keySet())).execute();
 
         // Null check
         if (information == null) throw new IllegalStateException("Failed to get channel information");
         var channelInformation = information.getChannels();
-        if (channelInformation.isEmpty()) throw new IllegalStateException("Failed to get channel information");
+        if (channelInformation == null) throw new IllegalStateException("Failed to get channel information");
 
         // Map channel information to ChannelInfo objects
-        var channelInfo = new HashSet<ChannelInfo>();
-        for (var channel : channels)
-            for (var info : channelInformation)
-                if (channel.getId().toString().equals(info.getBroadcasterId()))
-                    channelInfo.add(new ChannelInfo(info, channel));
+        var channelInfo = new ArrayList<ChannelInfo>(channelInformation.size());
+        for (var info : channelInformation) {
+            var channel = channelMap.get(info.getBroadcasterId());
+            if (channel != null) channelInfo.add(new ChannelInfo(info, channel));
+        }
 
         // Return channel info
         return channelInfo;
     }
 
     public ChannelInfo getChannelInfo(TwitchUser channel) {
-        return getChannelInfo(new HashSet<>(Collections.singleton(channel))).iterator().next();
+
+        // Check Parameters
+        if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
+
+        // Join identical request in flight
+        return singleFlight.execute("channel:" + channel.getId(), () -> getChannelInfo(new HashSet<>(Collections.singleton(channel))).iterator().next());
     }
 
     public ChannelInfo getChannelInfo(Integer channel) {
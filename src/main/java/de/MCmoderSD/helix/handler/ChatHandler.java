@@ -1,14 +1,20 @@
 package de.MCmoderSD.helix.handler;
 
 import com.github.twitch4j.helix.TwitchHelix;
+import com.github.twitch4j.helix.domain.Chatter;
 
+import de.MCmoderSD.helix.cache.UserBatcher;
+import de.MCmoderSD.helix.cache.UserCache;
 import de.MCmoderSD.helix.core.TokenHandler;
 import de.MCmoderSD.helix.enums.Scope;
 import de.MCmoderSD.helix.objects.TwitchUser;
+import de.MCmoderSD.helix.utilities.Pager;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 
 import static de.MCmoderSD.helix.enums.Scope.MODERATOR_READ_CHATTERS;
 import static de.MCmoderSD.helix.enums.Scope.MODERATOR_MANAGE_CHAT_MESSAGES;
@@ -23,8 +29,8 @@ public class ChatHandler extends Handler {
     };
 
     // Constructor
-    public ChatHandler(TwitchHelix helix, TokenHandler tokenHandler) {
-        super(helix, tokenHandler);
+    public ChatHandler(TwitchHelix helix, TokenHandler tokenHandler, UserCache userCache, UserBatcher userBatcher) {
+        super(helix, tokenHandler, userCache, userBatcher);
     }
 
 
@@ -32,7 +38,7 @@ public class ChatHandler extends Handler {
 
 
 
-    private HashSet<TwitchUser> getChatters(TwitchUser channel, String accessToken, @Nullable String cursor) {
+    private Pager.Page<Chatter> getChattersPage(TwitchUser channel, String accessToken, @Nullable String cursor) {
 
         // Check Parameters
         if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
@@ -48,25 +54,30 @@ public class ChatHandler extends Handler {
         if (chattersList == null) throw new IllegalStateException("Failed to get chatters for channel ID: " + id);
         var chatters = chattersList.getChatters();
         if (chatters == null) throw new IllegalStateException("Failed to get chatters for channel ID: " + id);
-        if (chatters.isEmpty()) return new HashSet<>(); // No chatters found
+
+        // Return page, an empty page ends pagination
+        var pagination = chattersList.getPagination();
+        return new Pager.Page<>(chatters, chatters.isEmpty() || pagination == null ? null : pagination.getCursor());
+    }
+
+    private List<TwitchUser> resolveChatters(List<Chatter> chatters) {
 
         // Convert to TwitchUser
         var chatterIds = new HashSet<Integer>();
         for (var chatter : chatters) chatterIds.add(Integer.parseInt(chatter.getUserId()));
         var userMap = getUsersByIDsMap(chatterIds);
-        var fetchedChatters = new HashSet<TwitchUser>();
-        for (var chatter : chatters) fetchedChatters.add(new TwitchUser(userMap.get(Integer.parseInt(chatter.getUserId()))));
-
-        // Check if there are more moderators
-        var pagination = chattersList.getPagination();
-        var nextCursor = pagination != null ? pagination.getCursor() : null;
-        if (nextCursor != null) fetchedChatters.addAll(getChatters(channel, accessToken, nextCursor));
-
-        // Return Chatters
-        return fetchedChatters;
+        var page = new ArrayList<TwitchUser>(chatters.size());
+        for (var chatter : chatters) {
+            var user = userMap.get(Integer.parseInt(chatter.getUserId()));
+            if (user != null) page.add(new TwitchUser(user)); // Skip unknown users
+        }
+
+        // Return page
+        return page;
     }
 
-    public HashSet<TwitchUser> getChatters(TwitchUser channel) {
+    // Page through chatters with constant memory, users are resolved page by page
+    public Pager<TwitchUser> pageChatters(TwitchUser channel) {
 
         // Check Parameters
         if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
@@ -79,8 +90,35 @@ public class ChatHandler extends Handler {
         if (authToken == null) throw new IllegalArgumentException("AuthToken cannot be null");
         if (!authToken.hasScope(MODERATOR_READ_CHATTERS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + MODERATOR_READ_CHATTERS.getScope());
 
-        // Get Chatters
-        return getChatters(channel, authToken.getAccessToken(), null);
+        // Next page is requested while the users of the current one are resolved
+        return Pager.pipelined(cursor -> callWithToken(id, accessToken -> getChattersPage(channel, accessToken, cursor)), this::resolveChatters);
+    }
+
+    public Pager<TwitchUser> pageChatters(Integer channel) {
+        return pageChatters(new TwitchUser(getUser(channel)));
+    }
+
+    public Pager<TwitchUser> pageChatters(String channel) {
+        return pageChatters(new TwitchUser(getUser(channel)));
+    }
+
+    public HashSet<TwitchUser> getChatters(TwitchUser channel) {
+
+        // Check Parameters
+        if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
+
+        // Join identical request in flight
+        return singleFlight.execute("chatters:" + channel.getId(), () -> loadChatters(channel), HashSet::new); // Own copy per caller
+    }
+
+    private HashSet<TwitchUser> loadChatters(TwitchUser channel) {
+
+        // Collect all pages
+        var chatters = new HashSet<TwitchUser>();
+        for (var chatter : pageChatters(channel)) chatters.add(chatter);
+
+        // Return Chatters
+        return chatters;
     }
 
     public HashSet<TwitchUser> getChatters(Integer channel) {
@@ -111,13 +149,12 @@ public class ChatHandler extends Handler {
         if (!authToken.hasScope(MODERATOR_MANAGE_CHAT_MESSAGES)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + MODERATOR_MANAGE_CHAT_MESSAGES.getScope());
 
         // Delete Messages
-        var accessToken = authToken.getAccessToken();
-        for (var message : messageIds) helix.deleteChatMessages(
+        for (var message : messageIds) runWithToken(authToken, accessToken -> helix.deleteChatMessages(
                 accessToken,        // Access Token
                 id.toString(),      // Broadcaster ID
                 id.toString(),      // Moderator ID
                 message.toString()  // Message ID
-        ).execute();
+        ).execute());
     }
 
     public void deleteChatMessages(Integer channel, HashSet<Integer> messageIds) {
@@ -1,14 +1,30 @@
 package de.MCmoderSD.helix.handler;
 
+import com.github.twitch4j.common.exception.UnauthorizedException;
 import com.github.twitch4j.helix.TwitchHelix;
 import com.github.twitch4j.helix.domain.User;
 
+import de.MCmoderSD.helix.cache.UserBatcher;
+import de.MCmoderSD.helix.cache.UserCache;
 import de.MCmoderSD.helix.core.TokenHandler;
-
-import java.util.Collections;
+import de.MCmoderSD.helix.objects.AuthToken;
+import de.MCmoderSD.helix.objects.TwitchUser;
+import de.MCmoderSD.helix.objects.UserReference;
+import de.MCmoderSD.helix.utilities.ChunkedFetcher;
+import de.MCmoderSD.helix.utilities.IntMap;
+import de.MCmoderSD.helix.utilities.SingleFlight;
+
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.HashMap;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 @SuppressWarnings("unused")
 public abstract class Handler {
@@ -19,17 +35,79 @@ public abstract class Handler {
     // Associations
     protected final TwitchHelix helix;
     protected final TokenHandler tokenHandler;
+    protected final UserCache userCache;
+    protected final UserBatcher userBatcher;
+
+    // Attributes
+    protected final SingleFlight singleFlight;
+    protected volatile int parallelism;
 
     // Constructor
-    public Handler(TwitchHelix helix, TokenHandler tokenHandler) {
+    public Handler(TwitchHelix helix, TokenHandler tokenHandler, UserCache userCache, UserBatcher userBatcher) {
 
         // Check Parameters
         if (helix == null) throw new IllegalArgumentException("TwitchHelix cannot be null");
         if (tokenHandler == null) throw new IllegalArgumentException("TokenHandler cannot be null");
+        if (userCache == null) throw new IllegalArgumentException("UserCache cannot be null");
+        if (userBatcher == null) throw new IllegalArgumentException("UserBatcher cannot be null");
 
         // Set Associations
         this.helix = helix;
         this.tokenHandler = tokenHandler;
+        this.userCache = userCache;
+        this.userBatcher = userBatcher;
+
+        // Set Attributes
+        singleFlight = new SingleFlight();
+        parallelism = ChunkedFetcher.DEFAULT_PARALLELISM;
+    }
+
+    // Wait for future and unwrap its exception
+    protected static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    // Call Helix with the access token of a channel, an auth failure refreshes the token once and retries
+    protected <T> T callWithToken(AuthToken authToken, Function<String, T> call) {
+
+        // Check Parameters
+        if (authToken == null) throw new IllegalArgumentException("AuthToken cannot be null");
+
+        // Refresh stale token before calling
+        var token = authToken.isValid(Duration.ZERO) ? authToken : tokenHandler.refreshStaleToken(authToken);
+
+        // Call and retry once with a refreshed token
+        try {
+            return call.apply(token.getAccessToken());
+        } catch (RuntimeException e) {
+            if (!isUnauthorized(e)) throw e;
+            return call.apply(tokenHandler.refreshStaleToken(token).getAccessToken());
+        }
+    }
+
+    // Call with the current token of a channel, read per call so pagers pick up tokens refreshed meanwhile
+    protected <T> T callWithToken(Integer id, Function<String, T> call) {
+        var authToken = tokenHandler.getAuthToken(id);
+        if (authToken == null) throw new IllegalStateException("AuthToken of " + id + " was revoked");
+        return callWithToken(authToken, call);
+    }
+
+    protected void runWithToken(AuthToken authToken, Consumer<String> call) {
+        callWithToken(authToken, accessToken -> {
+            call.accept(accessToken);
+            return null;
+        });
+    }
+
+    // Helix answered with 401
+    private static boolean isUnauthorized(Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) if (cause instanceof UnauthorizedException) return true;
+        return false;
     }
 
     // Get user with ID
@@ -38,18 +116,13 @@ public abstract class Handler {
         // Check Parameters
         if (id == null || id < 1) throw new IllegalArgumentException("ID cannot be null or less than 1");
 
-        // Get user ID
-        var userList = helix.getUsers(null, Collections.singletonList(id.toString()), null).execute();
-
-        // Check Response
-        if (userList == null) throw new IllegalStateException("Failed to get user with ID: " + id);
-        var users = userList.getUsers();
-        if (users == null) throw new IllegalStateException("Failed to get user with ID: " + id);
-        if (users.isEmpty()) throw new IllegalStateException("No user found with ID: " + id);
-        if (users.size() != 1) throw new IllegalStateException("Multiple users found with ID: " + id);
+        // Check Cache
+        var cached = userCache.getUser(id);
+        if (cached != null) return cached;
+        if (userCache.isMissing(id)) throw new IllegalStateException("No user found with ID: " + id);
 
-        // Return user
-        return users.getFirst();
+        // Get user, batched with concurrent and in-flight lookups
+        return await(userBatcher.getUser(id));
     }
 
     // Get user with name
@@ -58,89 +131,210 @@ public abstract class Handler {
         // Check Parameters
         if (username == null || username.isBlank() || username.contains(" ")) throw new IllegalStateException("Invalid username: " + username);
 
-        // Get user ID
-        var userList = helix.getUsers(null, null, Collections.singletonList(username.toLowerCase())).execute();
+        // Check Cache
+        var cached = userCache.getUser(username);
+        if (cached != null) return cached;
+        if (userCache.isMissing(username)) throw new IllegalStateException("No user found: " + username);
 
-        // Check Response
-        if (userList == null) throw new IllegalStateException("Failed to get user: " + username);
-        var users = userList.getUsers();
-        if (users == null) throw new IllegalStateException("Failed to get user: " + username);
-        if (users.isEmpty()) throw new IllegalStateException("No user found: " + username);
-        if (users.size() != 1) throw new IllegalStateException("Multiple users found: " + username);
+        // Get user, batched with concurrent and in-flight lookups
+        return await(userBatcher.getUser(username));
+    }
+
+    // Get user reference with ID, resolved only when profile fields are read
+    public UserReference getUserReference(Integer id) {
+        if (id == null || id < 1) throw new IllegalArgumentException("ID cannot be null or less than 1");
+        return new UserReference(id, () -> new TwitchUser(getUser(id)));
+    }
 
-        // Return user
-        return users.getFirst();
+    // Get user reference with name, resolved once on first access
+    public UserReference getUserReference(String username) {
+        if (username == null || username.isBlank() || username.contains(" ")) throw new IllegalStateException("Invalid username: " + username);
+        return new UserReference(username, () -> new TwitchUser(getUser(username)));
     }
 
     // Get Users with IDs
     public HashSet<User> getUsersByIDs(HashSet<Integer> ids) {
+        return new HashSet<>(getUsersByIDsMap(ids).values());
+    }
+
+    // Get Users with names
+    public HashSet<User> getUsersByName(HashSet<String> usernames) {
+        return new HashSet<>(getUsersByNameMap(usernames).values());
+    }
+
+    // Get User Map by IDs
+    public HashMap<Integer, User> getUsersByIDsMap(HashSet<Integer> ids) {
 
         // Check Parameters
         if (ids == null || ids.isEmpty()) throw new IllegalArgumentException("IDs cannot be empty");
         for (var id : ids) if (id == null || id < 1) throw new IllegalArgumentException("Invalid ID in IDs: " + id);
 
-        // Check size and chunk
-        var size = ids.size();
-        if (size > LIMIT) {
-           var users = new HashSet<User>();
-            for (var i = 0; i < size; i += LIMIT) users.addAll(getUsersByIDs(new HashSet<>(ids.stream().toList().subList(i, Math.min(i + LIMIT, size)))));
-            return users;
+        // Check Cache
+        var userMap = userCache.getUsersByIDs(ids);
+        if (userMap.size() == ids.size()) return userMap;
+
+        // Collect missing users
+        var missing = new ArrayList<Integer>(ids.size() - userMap.size());
+        for (var id : ids) if (!userMap.containsKey(id) && !userCache.isMissing(id)) missing.add(id);
+
+        // Check Directory
+        for (var user : userCache.loadUsersByIDs(missing)) userMap.put(Integer.parseInt(user.getId()), user);
+        missing.removeIf(userMap::containsKey);
+
+        // Fetch missing users
+        var fetched = ChunkedFetcher.fetch(missing, LIMIT, parallelism, this::requestUsersByIDs);
+        userCache.putAll(fetched);
+        for (var user : fetched) userMap.put(Integer.parseInt(user.getId()), user);
+        for (var id : missing) if (!userMap.containsKey(id)) userCache.putMissing(id);
+
+        // Check Result
+        if (userMap.isEmpty()) throw new IllegalStateException("No users found with IDs: " + Arrays.toString(ids.toArray()));
+
+        // Return users
+        return userMap;
+    }
+
+    // Get User Map by primitive IDs
+    public IntMap<User> getUsersByIDsMap(int[] ids) {
+
+        // Check Parameters
+        if (ids == null || ids.length == 0) throw new IllegalArgumentException("IDs cannot be empty");
+        for (var id : ids) if (id < 1) throw new IllegalArgumentException("Invalid ID in IDs: " + id);
+
+        // Deduplicate without boxing
+        var sorted = ids.clone();
+        Arrays.sort(sorted);
+
+        // Check Cache
+        var userMap = new IntMap<User>(sorted.length);
+        var missing = new int[sorted.length];
+        var missingCount = 0;
+        for (var i = 0; i < sorted.length; i++) {
+            if (i > 0 && sorted[i] == sorted[i - 1]) continue;
+            var cached = userCache.getUser(sorted[i]);
+            if (cached != null) userMap.put(sorted[i], cached);
+            else if (!userCache.isMissing(sorted[i])) missing[missingCount++] = sorted[i];
+        }
+        if (missingCount == 0 && !userMap.isEmpty()) return userMap;
+
+        // Check Directory
+        if (missingCount > 0) {
+            var stored = userCache.loadUsersByIDs(Arrays.stream(missing, 0, missingCount).boxed().toList());
+            for (var user : stored) userMap.put(Integer.parseInt(user.getId()), user);
+            if (!stored.isEmpty()) {
+                var remaining = 0;
+                for (var i = 0; i < missingCount; i++) if (!userMap.containsKey(missing[i])) missing[remaining++] = missing[i];
+                missingCount = remaining;
+            }
         }
 
-        // Get user ID
+        // Fetch missing users
+        missing = Arrays.copyOf(missing, missingCount);
+        var fetched = ChunkedFetcher.fetch(missing, LIMIT, parallelism, this::requestUsersByIDs);
+        userCache.putAll(fetched);
+        for (var user : fetched) userMap.put(Integer.parseInt(user.getId()), user);
+        for (var id : missing) if (!userMap.containsKey(id)) userCache.putMissing(id);
+
+        // Check Result
+        if (userMap.isEmpty()) throw new IllegalStateException("No users found with IDs: " + Arrays.toString(ids));
+
+        // Return users
+        return userMap;
+    }
+
+    public IntMap<User> getUsersByIDsMap(IntStream ids) {
+        if (ids == null) throw new IllegalArgumentException("IDs cannot be null");
+        return getUsersByIDsMap(ids.toArray());
+    }
+
+    // Get User Map by names
+    public HashMap<String, User> getUsersByNameMap(HashSet<String> usernames) {
+
+        // Check Parameters
+        if (usernames == null || usernames.isEmpty()) throw new IllegalArgumentException("Usernames cannot be empty");
+        for (var username : usernames) if (username == null || username.isBlank() || username.contains(" ")) throw new IllegalStateException("Invalid username: " + username);
+
+        // Check Cache
+        var userMap = userCache.getUsersByName(usernames);
+
+        // Fetch missing users
+        var missing = new HashSet<String>();
+        for (var username : usernames) if (!userMap.containsKey(username.toLowerCase()) && !userCache.isMissing(username)) missing.add(username.toLowerCase());
+        if (missing.isEmpty() && !userMap.isEmpty()) return userMap;
+
+        // Check Directory
+        for (var user : userCache.loadUsersByName(missing)) userMap.put(user.getLogin().toLowerCase(), user);
+        missing.removeIf(userMap::containsKey);
+
+        // Fetch missing users
+        var fetched = ChunkedFetcher.fetch(missing, LIMIT, parallelism, this::requestUsersByName);
+        userCache.putAll(fetched);
+        for (var user : fetched) userMap.put(user.getLogin(), user);
+        for (var username : missing) if (!userMap.containsKey(username)) userCache.putMissing(username);
+
+        // Check Result
+        if (userMap.isEmpty()) throw new IllegalStateException("No users found with names: " + Arrays.toString(usernames.toArray()));
+
+        // Return users
+        return userMap;
+    }
+
+    // Single request for up to 100 IDs
+    private List<User> requestUsersByIDs(List<Integer> ids) {
+
+        // Get users
         var userList = helix.getUsers(null, ids.stream().map(String::valueOf).toList(), null).execute();
 
         // Check Response
         if (userList == null) throw new IllegalStateException("Failed to get users with IDs: " + Arrays.toString(ids.toArray()));
         var users = userList.getUsers();
         if (users == null) throw new IllegalStateException("Failed to get users with IDs: " + Arrays.toString(ids.toArray()));
-        if (users.isEmpty()) throw new IllegalStateException("No users found with IDs: " + Arrays.toString(ids.toArray()));
 
         // Return users
-        return new HashSet<>(users);
+        return users;
     }
 
-    // Get Users with names
-    public HashSet<User> getUsersByName(HashSet<String> usernames) {
+    private List<User> requestUsersByIDs(int[] ids) {
 
-        // Check Parameters
-        if (usernames == null || usernames.isEmpty()) throw new IllegalArgumentException("Usernames cannot be empty");
-        for (var username : usernames) if (username == null || username.isBlank() || username.contains(" ")) throw new IllegalStateException("Invalid username: " + username);
+        // Convert IDs
+        var idList = new ArrayList<String>(ids.length);
+        for (var id : ids) idList.add(Integer.toString(id));
 
-        // Check size and chunk
-        var size = usernames.size();
-        if (size > LIMIT) {
-            var users = new HashSet<User>();
-            for (var i = 0; i < size; i += LIMIT) users.addAll(getUsersByName(new HashSet<>(usernames.stream().toList().subList(i, Math.min(i + LIMIT, size)))));
-            return users;
-        }
+        // Get users
+        var userList = helix.getUsers(null, idList, null).execute();
 
-        // Get user ID
-        var userList = helix.getUsers(null, null, usernames.stream().map(String::toLowerCase).toList()).execute();
+        // Check Response
+        if (userList == null) throw new IllegalStateException("Failed to get users with IDs: " + Arrays.toString(ids));
+        var users = userList.getUsers();
+        if (users == null) throw new IllegalStateException("Failed to get users with IDs: " + Arrays.toString(ids));
+
+        // Return users
+        return users;
+    }
+
+    // Single request for up to 100 names
+    private List<User> requestUsersByName(List<String> usernames) {
+
+        // Get users
+        var userList = helix.getUsers(null, null, usernames).execute();
 
         // Check Response
         if (userList == null) throw new IllegalStateException("Failed to get users with names: " + Arrays.toString(usernames.toArray()));
         var users = userList.getUsers();
         if (users == null) throw new IllegalStateException("Failed to get users with names: " + Arrays.toString(usernames.toArray()));
-        if (users.isEmpty()) throw new IllegalStateException("No users found with names: " + Arrays.toString(usernames.toArray()));
 
         // Return users
-        return new HashSet<>(users);
+        return users;
     }
 
-    // Get User Map by IDs
-    public HashMap<Integer, User> getUsersByIDsMap(HashSet<Integer> ids) {
-        var users = getUsersByIDs(ids);
-        var userMap = new HashMap<Integer, User>();
-        for (var user : users) userMap.put(Integer.parseInt(user.getId()), user);
-        return userMap;
+    // Setter
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be greater than 0");
+        this.parallelism = parallelism;
     }
 
-    // Get User Map by names
-    public HashMap<String, User> getUsersByNameMap(HashSet<String> usernames) {
-        var users = getUsersByName(usernames);
-        var userMap = new HashMap<String, User>();
-        for (var user : users) userMap.put(user.getLogin(), user);
-        return userMap;
+    // Getter
+    public int getParallelism() {
+        return parallelism;
     }
-}
\ No newline at end of file
+}
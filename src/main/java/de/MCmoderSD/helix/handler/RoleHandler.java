@@ -1,9 +1,17 @@
 package de.MCmoderSD.helix.handler;
 
 import com.github.twitch4j.helix.TwitchHelix;
+import com.github.twitch4j.helix.domain.InboundFollow;
+import com.github.twitch4j.helix.domain.Moderator;
+import com.github.twitch4j.helix.domain.Subscription;
+import com.github.twitch4j.helix.domain.User;
 import org.jetbrains.annotations.Nullable;
 
+import de.MCmoderSD.helix.cache.RoleCache;
+import de.MCmoderSD.helix.cache.UserBatcher;
+import de.MCmoderSD.helix.cache.UserCache;
 import de.MCmoderSD.helix.core.TokenHandler;
+import de.MCmoderSD.helix.enums.Role;
 import de.MCmoderSD.helix.enums.Scope;
 import de.MCmoderSD.helix.objects.ChannelModerator;
 import de.MCmoderSD.helix.objects.ChannelEditor;
@@ -11,12 +19,26 @@ import de.MCmoderSD.helix.objects.ChannelVip;
 import de.MCmoderSD.helix.objects.ChannelSubscriber;
 import de.MCmoderSD.helix.objects.ChannelFollower;
 import de.MCmoderSD.helix.objects.TwitchUser;
-
+import de.MCmoderSD.helix.utilities.Pager;
+import de.MCmoderSD.helix.utilities.Prefetcher;
+import de.MCmoderSD.helix.utilities.RoleDiff;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.Collections;
-import java.util.concurrent.ConcurrentHashMap;
+
+import static de.MCmoderSD.helix.enums.Role.MODERATORS;
+import static de.MCmoderSD.helix.enums.Role.VIPS;
+import static de.MCmoderSD.helix.enums.Role.SUBSCRIBERS;
+import static de.MCmoderSD.helix.enums.Role.FOLLOWERS;
 
 import static de.MCmoderSD.helix.enums.Scope.MODERATION_READ;
 import static de.MCmoderSD.helix.enums.Scope.CHANNEL_READ_EDITORS;
@@ -41,25 +63,23 @@ public class RoleHandler extends Handler {
     };
 
     // Cache
-    private final ConcurrentHashMap<Integer, HashSet<ChannelModerator>> moderatorCache;
-    private final ConcurrentHashMap<Integer, HashSet<ChannelVip>> vipCache;
-    private final ConcurrentHashMap<Integer, HashSet<ChannelSubscriber>> subscriberCache;
-    private final ConcurrentHashMap<Integer, HashSet<ChannelFollower>> followerCache;
+    private final RoleCache roleCache;
 
     // Constructor
-    public RoleHandler(TwitchHelix helix, TokenHandler tokenHandler) {
+    public RoleHandler(TwitchHelix helix, TokenHandler tokenHandler, UserCache userCache, UserBatcher userBatcher) {
+        this(helix, tokenHandler, userCache, userBatcher, RoleCache.DEFAULT_MAXIMUM_WEIGHT, RoleCache.DEFAULT_REFRESH_AFTER_WRITE, Map.of());
+    }
+
+    public RoleHandler(TwitchHelix helix, TokenHandler tokenHandler, UserCache userCache, UserBatcher userBatcher, long cacheBudget, Duration refreshAfterWrite, Map<Role, Duration> ttl) {
 
         // Call super constructor
-        super(helix, tokenHandler);
+        super(helix, tokenHandler, userCache, userBatcher);
 
-        // Initialize caches
-        moderatorCache = new ConcurrentHashMap<>();
-        vipCache = new ConcurrentHashMap<>();
-        subscriberCache = new ConcurrentHashMap<>();
-        followerCache = new ConcurrentHashMap<>();
+        // Initialize cache
+        roleCache = new RoleCache(this::loadRoles, cacheBudget, refreshAfterWrite, ttl);
 
-        // Initialize caches
-        tokenHandler.getAuthTokens().forEach((id, authToken) -> new Thread(() -> {
+        // Warm up cache in the background
+        tokenHandler.getAuthTokens().forEach((id, authToken) -> {
 
             // Check scopes
             var moderators = authToken.hasScope(MODERATION_READ) || authToken.hasScope(CHANNEL_MANAGE_MODERATORS);
@@ -67,13 +87,24 @@ public class RoleHandler extends Handler {
             var subscribers = authToken.hasScope(CHANNEL_READ_SUBSCRIPTIONS);
             var followers = authToken.hasScope(MODERATOR_READ_FOLLOWERS);
 
-            // Initialize empty cache
-            if (moderators) moderatorCache.put(id, getModerators(id));      // Moderators
-            if (vips) vipCache.put(id, getVIPs(id));                        // VIPs
-            if (subscribers) subscriberCache.put(id, getSubscribers(id));   // Subscribers
-            if (followers) followerCache.put(id, getFollowers(id));         // Followers
+            // Load caches
+            if (moderators) roleCache.refresh(MODERATORS, id);      // Moderators
+            if (vips) roleCache.refresh(VIPS, id);                  // VIPs
+            if (subscribers) roleCache.refresh(SUBSCRIBERS, id);    // Subscribers
+            if (followers) roleCache.refresh(FOLLOWERS, id);        // Followers
+        });
+    }
 
-        }).start());
+    // Load role set of a channel, cached is the previous set on background reloads
+    @SuppressWarnings("unchecked")
+    private HashSet<?> loadRoles(Role role, Integer id, @Nullable HashSet<?> cached) {
+        var channel = new TwitchUser(getUser(id));
+        return switch (role) {
+            case MODERATORS -> loadModerators(channel, (HashSet<ChannelModerator>) cached);
+            case VIPS -> loadVIPs(channel, (HashSet<ChannelVip>) cached);
+            case SUBSCRIBERS -> loadSubscribers(channel, (HashSet<ChannelSubscriber>) cached);
+            case FOLLOWERS -> loadFollowers(channel, (HashSet<ChannelFollower>) cached);
+        };
     }
 
 
@@ -85,59 +116,59 @@ public class RoleHandler extends Handler {
 
 
 
-    private HashSet<ChannelModerator> getModerators(TwitchUser channel, String accessToken, @Nullable String cursor) {
+    private HashSet<ChannelModerator> getModerators(TwitchUser channel, String accessToken, @Nullable HashSet<ChannelModerator> cache) {
 
         // Check Parameters
         if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
         if (accessToken == null || accessToken.isBlank()) throw new IllegalArgumentException("Access Token cannot be null or blank");
 
-        // Get ID
+        // Variables
         var id = channel.getId();
+        var diff = new RoleDiff<Moderator, ChannelModerator>(cache, moderator -> Integer.parseInt(moderator.getUserId()), (moderator, cached) -> true);
+        var prefetch = new Prefetcher<Integer, User>(this::getUsersByIDsMap, Pager.DEFAULT_PREFETCH);
+        String cursor = null;
 
-        // Get moderators
-        var moderatorList = helix.getModerators(accessToken, id.toString(), null, cursor, LIMIT).execute();
+        // Compare all pages with the cache
+        do {
 
-        // Null check
-        if (moderatorList == null) throw new IllegalStateException("Failed to get moderators for channel ID: " + id);
-        var moderators = moderatorList.getModerators();
-        if (moderators == null) throw new IllegalStateException("Failed to get moderators for channel ID: " + id);
-        if (moderators.isEmpty()) return new HashSet<>(); // No moderators found
+            // Get moderators
+            var moderatorList = helix.getModerators(accessToken, id.toString(), null, cursor, LIMIT).execute();
+
+            // Null check
+            if (moderatorList == null) throw new IllegalStateException("Failed to get moderators for channel ID: " + id);
+            var moderators = moderatorList.getModerators();
+            if (moderators == null) throw new IllegalStateException("Failed to get moderators for channel ID: " + id);
+            if (moderators.isEmpty()) break; // No more moderators
+
+            // Compare page
+            prefetch.submit(diff.add(moderators)); // New users are resolved while the next page is requested
+
+            // Check if there are more moderators
+            var pagination = moderatorList.getPagination();
+            cursor = pagination != null ? pagination.getCursor() : null;
+        } while (cursor != null);
 
         // Check if cache is up to date
-        var cache = moderatorCache.get(id);
-        if (cursor == null && cache != null) {
-            var cachedIds = new HashSet<String>();
-            var fetchedIds = new HashSet<String>();
-            cache.forEach(moderator -> cachedIds.add(moderator.getId().toString()));
-            moderators.forEach(moderator -> fetchedIds.add(moderator.getUserId()));
-            if (cachedIds.containsAll(fetchedIds)) return null; // Cache is up to date
-        }
+        if (cache != null && diff.isUnchanged()) return cache;
 
-        // Convert to ChannelModerator HashSet
-        var moderatorIds = new HashSet<Integer>();
-        for (var moderator : moderators) moderatorIds.add(Integer.parseInt(moderator.getUserId()));
-        var userMap = getUsersByIDsMap(moderatorIds);
-        var fetchedModerators = new HashSet<ChannelModerator>();
-        for (var moderator : moderators) {
+        // Wait for added moderators, they were resolved while paging
+        var userMap = prefetch.join();
+        var patched = new ArrayList<ChannelModerator>();
+        for (var moderator : diff.getAdded()) {
 
             // Get User
             var user = userMap.get(Integer.parseInt(moderator.getUserId()));
             if (user == null) continue; // User not found, skip
 
             // Add Moderator
-            fetchedModerators.add(new ChannelModerator(
-                    userMap.get(Integer.parseInt(moderator.getUserId())),   // Moderator
-                    channel                                                 // Channel
+            patched.add(new ChannelModerator(
+                    user,       // Moderator
+                    channel     // Channel
             ));
         }
 
-        // Check if there are more moderators
-        var pagination = moderatorList.getPagination();
-        var nextCursor = pagination != null ? pagination.getCursor() : null;
-        if (nextCursor != null) fetchedModerators.addAll(Objects.requireNonNull(getModerators(channel, accessToken, nextCursor)));
-
-        // Return moderators
-        return fetchedModerators;
+        // Return patched moderators
+        return diff.apply(patched);
     }
 
     public HashSet<ChannelModerator> getModerators(TwitchUser channel) {
@@ -145,6 +176,12 @@ public class RoleHandler extends Handler {
         // Check Parameters
         if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
 
+        // Copy of the cached set, concurrent loads are joined
+        return new HashSet<>(roleCache.<ChannelModerator>get(MODERATORS, channel.getId()));
+    }
+
+    private HashSet<ChannelModerator> loadModerators(TwitchUser channel, @Nullable HashSet<ChannelModerator> cached) {
+
         // Get Access Token
         var id = channel.getId();
         var authToken = tokenHandler.getAuthToken(id);
@@ -154,12 +191,7 @@ public class RoleHandler extends Handler {
         if (!(authToken.hasScope(MODERATION_READ) || authToken.hasScope(CHANNEL_MANAGE_MODERATORS))) throw new IllegalArgumentException("AuthToken does not have the required scope: " + MODERATION_READ.getScope() + " or " + CHANNEL_MANAGE_MODERATORS.getScope());
 
         // Get moderators
-        var moderators = getModerators(channel, authToken.getAccessToken(), null);
-        if (moderators == null) return moderatorCache.get(id);  // Cache is up to date
-        if (moderators.isEmpty()) return new HashSet<>();       // No moderators found
-
-        // Update cache
-        moderatorCache.put(id, moderators);
+        var moderators = callWithToken(authToken, accessToken -> getModerators(channel, accessToken, cached));
 
         // Return moderators
         return moderators;
@@ -173,6 +205,66 @@ public class RoleHandler extends Handler {
         return getModerators(new TwitchUser(getUser(channel)));
     }
 
+    // Page through moderators with constant memory, users are resolved page by page
+    public Pager<ChannelModerator> pageModerators(TwitchUser channel) {
+
+        // Check Parameters
+        if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
+
+        // Get Access Token
+        var id = channel.getId();
+        var authToken = tokenHandler.getAuthToken(id);
+
+        // Check AuthToken
+        if (authToken == null) throw new IllegalArgumentException("AuthToken cannot be null");
+        if (!(authToken.hasScope(MODERATION_READ) || authToken.hasScope(CHANNEL_MANAGE_MODERATORS))) throw new IllegalArgumentException("AuthToken does not have the required scope: " + MODERATION_READ.getScope() + " or " + CHANNEL_MANAGE_MODERATORS.getScope());
+
+        // Next page is requested while the users of the current one are resolved
+        return Pager.pipelined(cursor -> callWithToken(id, accessToken -> getModeratorsPage(channel, accessToken, cursor)), entries -> resolveModerators(channel, entries));
+    }
+
+    private Pager.Page<Moderator> getModeratorsPage(TwitchUser channel, String accessToken, @Nullable String cursor) {
+
+        // Get ID
+        var id = channel.getId();
+
+        // Get moderators
+        var moderatorList = helix.getModerators(accessToken, id.toString(), null, cursor, LIMIT).execute();
+
+        // Null check
+        if (moderatorList == null) throw new IllegalStateException("Failed to get moderators for channel ID: " + id);
+        var moderators = moderatorList.getModerators();
+        if (moderators == null) throw new IllegalStateException("Failed to get moderators for channel ID: " + id);
+        var pagination = moderatorList.getPagination();
+
+        // Return page, an empty page ends pagination
+        return new Pager.Page<>(moderators, moderators.isEmpty() || pagination == null ? null : pagination.getCursor());
+    }
+
+    private List<ChannelModerator> resolveModerators(TwitchUser channel, List<Moderator> moderators) {
+
+        // Resolve users of this page
+        var userIds = new HashSet<Integer>();
+        for (var moderator : moderators) userIds.add(Integer.parseInt(moderator.getUserId()));
+        var userMap = userIds.isEmpty() ? new HashMap<Integer, User>() : getUsersByIDsMap(userIds);
+        var page = new ArrayList<ChannelModerator>(userIds.size());
+        for (var moderator : moderators) {
+            var user = userMap.get(Integer.parseInt(moderator.getUserId()));
+            if (user != null) page.add(new ChannelModerator(user, channel)); // Skip unknown users
+        }
+
+        // Return page
+        return page;
+    }
+
+    public Pager<ChannelModerator> pageModerators(Integer channel) {
+        return pageModerators(new TwitchUser(getUser(channel)));
+    }
+
+    public Pager<ChannelModerator> pageModerators(String channel) {
+        return pageModerators(new TwitchUser(getUser(channel)));
+    }
+
 
 
 
@@ -182,6 +274,12 @@ public class RoleHandler extends Handler {
         // Check Parameters
         if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
 
+        // Join identical request in flight
+        return singleFlight.execute("editors:" + channel.getId(), () -> loadEditors(channel), HashSet::new); // Own copy per caller
+    }
+
+    private HashSet<ChannelEditor> loadEditors(TwitchUser channel) {
+
         // Get Access Token
         var id = channel.getId();
         var authToken = tokenHandler.getAuthToken(id);
@@ -191,7 +289,7 @@ public class RoleHandler extends Handler {
         if (!authToken.hasScope(CHANNEL_READ_EDITORS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_READ_EDITORS.getScope());
 
         // Get editors
-        var editorList = helix.getChannelEditors(authToken.getAccessToken(), id.toString()).execute();
+        var editorList = callWithToken(authToken, accessToken -> helix.getChannelEditors(accessToken, id.toString()).execute());
 
         // Null check
         if (editorList == null) throw new IllegalStateException("Failed to get editors for channel ID: " + id);
@@ -233,59 +331,59 @@ public class RoleHandler extends Handler {
 
 
 
-    private HashSet<ChannelVip> getVIPs(TwitchUser channel, String accessToken, @Nullable String cursor) {
+    private HashSet<ChannelVip> getVIPs(TwitchUser channel, String accessToken, @Nullable HashSet<ChannelVip> cache) {
 
         // Check Parameters
         if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
         if (accessToken == null || accessToken.isBlank()) throw new IllegalArgumentException("Access Token cannot be null or blank");
 
-        // Get ID
+        // Variables
         var id = channel.getId();
+        var diff = new RoleDiff<com.github.twitch4j.helix.domain.ChannelVip, ChannelVip>(cache, vip -> Integer.parseInt(vip.getUserId()), (vip, cached) -> true);
+        var prefetch = new Prefetcher<Integer, User>(this::getUsersByIDsMap, Pager.DEFAULT_PREFETCH);
+        String cursor = null;
 
-        // Get VIPs
-        var vipList = helix.getChannelVips(accessToken, id.toString(), null, LIMIT, cursor).execute();
+        // Compare all pages with the cache
+        do {
 
-        // Null check
-        if (vipList == null) throw new IllegalStateException("Failed to get VIPs for channel ID: " + id);
-        var vips = vipList.getData();
-        if (vips == null) throw new IllegalStateException("Failed to get VIPs for channel ID: " + id);
-        if (vips.isEmpty()) return new HashSet<>();
+            // Get VIPs
+            var vipList = helix.getChannelVips(accessToken, id.toString(), null, LIMIT, cursor).execute();
+
+            // Null check
+            if (vipList == null) throw new IllegalStateException("Failed to get VIPs for channel ID: " + id);
+            var vips = vipList.getData();
+            if (vips == null) throw new IllegalStateException("Failed to get VIPs for channel ID: " + id);
+            if (vips.isEmpty()) break; // No more VIPs
+
+            // Compare page
+            prefetch.submit(diff.add(vips)); // New users are resolved while the next page is requested
+
+            // Check if there are more VIPs
+            var pagination = vipList.getPagination();
+            cursor = pagination != null ? pagination.getCursor() : null;
+        } while (cursor != null);
 
         // Check if cache is up to date
-        var cache = vipCache.get(id);
-        if (cursor == null && cache != null) {
-            var cachedIds = new HashSet<String>();
-            var fetchedIds = new HashSet<String>();
-            cache.forEach(vip -> cachedIds.add(vip.getId().toString()));
-            vips.forEach(vip -> fetchedIds.add(vip.getUserId()));
-            if (cachedIds.containsAll(fetchedIds)) return null; // Cache is up to date
-        }
+        if (cache != null && diff.isUnchanged()) return cache;
 
-        // Convert to ChannelVip HashSet
-        var vipIds = new HashSet<Integer>();
-        for (var vip : vips) vipIds.add(Integer.parseInt(vip.getUserId()));
-        var userMap = getUsersByIDsMap(vipIds);
-        var fetchedVips = new HashSet<ChannelVip>();
-        for (var vip : vips) {
+        // Wait for added VIPs, they were resolved while paging
+        var userMap = prefetch.join();
+        var patched = new ArrayList<ChannelVip>();
+        for (var vip : diff.getAdded()) {
 
             // Get User
             var user = userMap.get(Integer.parseInt(vip.getUserId()));
             if (user == null) continue; // User not found, skip
 
             // Add VIP
-            fetchedVips.add(new ChannelVip(
-                    userMap.get(Integer.parseInt(vip.getUserId())), // VIP
-                    channel                                         // Channel
+            patched.add(new ChannelVip(
+                    user,       // VIP
+                    channel     // Channel
             ));
         }
 
-        // Check if there are more VIPs
-        var pagination = vipList.getPagination();
-        var nextCursor = pagination != null ? pagination.getCursor() : null;
-        if (nextCursor != null) fetchedVips.addAll(Objects.requireNonNull(getVIPs(channel, accessToken, nextCursor)));
-
-        // Return VIPs
-        return fetchedVips;
+        // Return patched VIPs
+        return diff.apply(patched);
     }
 
     public HashSet<ChannelVip> getVIPs(TwitchUser channel) {
@@ -293,6 +391,12 @@ public class RoleHandler extends Handler {
         // Check Parameters
         if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
 
+        // Copy of the cached set, concurrent loads are joined
+        return new HashSet<>(roleCache.<ChannelVip>get(VIPS, channel.getId()));
+    }
+
+    private HashSet<ChannelVip> loadVIPs(TwitchUser channel, @Nullable HashSet<ChannelVip> cached) {
+
         // Get Access Token
         var id = channel.getId();
         var authToken = tokenHandler.getAuthToken(id);
@@ -302,12 +406,7 @@ public class RoleHandler extends Handler {
         if (!(authToken.hasScope(CHANNEL_READ_VIPS) || authToken.hasScope(CHANNEL_MANAGE_VIPS))) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_READ_VIPS.getScope() + " or " + CHANNEL_MANAGE_VIPS.getScope());
 
         // Get VIPs
-        var vips = getVIPs(channel, authToken.getAccessToken(), null);
-        if (vips == null) return vipCache.get(id);      // Cache is up to date
-        if (vips.isEmpty()) return new HashSet<>();     // No VIPs found
-
-        // Update cache
-        vipCache.put(id, vips);
+        var vips = callWithToken(authToken, accessToken -> getVIPs(channel, accessToken, cached));
 
         // Return VIPs
         return vips;
@@ -321,68 +420,148 @@ public class RoleHandler extends Handler {
         return getVIPs(new TwitchUser(getUser(channel)));
     }
 
+    // Page through VIPs with constant memory, users are resolved page by page
+    public Pager<ChannelVip> pageVIPs(TwitchUser channel) {
+
+        // Check Parameters
+        if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
+
+        // Get Access Token
+        var id = channel.getId();
+        var authToken = tokenHandler.getAuthToken(id);
+
+        // Check AuthToken
+        if (authToken == null) throw new IllegalArgumentException("AuthToken cannot be null");
+        if (!(authToken.hasScope(CHANNEL_READ_VIPS) || authToken.hasScope(CHANNEL_MANAGE_VIPS))) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_READ_VIPS.getScope() + " or " + CHANNEL_MANAGE_VIPS.getScope());
+
+        // Next page is requested while the users of the current one are resolved
+        return Pager.pipelined(cursor -> callWithToken(id, accessToken -> getVIPsPage(channel, accessToken, cursor)), entries -> resolveVIPs(channel, entries));
+    }
+
+    private Pager.Page<com.github.twitch4j.helix.domain.ChannelVip> getVIPsPage(TwitchUser channel, String accessToken, @Nullable String cursor) {
+
+        // Get ID
+        var id = channel.getId();
+
+        // Get VIPs
+        var vipList = helix.getChannelVips(accessToken, id.toString(), null, LIMIT, cursor).execute();
+
+        // Null check
+        if (vipList == null) throw new IllegalStateException("Failed to get VIPs for channel ID: " + id);
+        var vips = vipList.getData();
+        if (vips == null) throw new IllegalStateException("Failed to get VIPs for channel ID: " + id);
+        var pagination = vipList.getPagination();
+
+        // Return page, an empty page ends pagination
+        return new Pager.Page<>(vips, vips.isEmpty() || pagination == null ? null : pagination.getCursor());
+    }
+
+    private List<ChannelVip> resolveVIPs(TwitchUser channel, List<com.github.twitch4j.helix.domain.ChannelVip> vips) {
 
+        // Resolve users of this page
+        var userIds = new HashSet<Integer>();
+        for (var vip : vips) userIds.add(Integer.parseInt(vip.getUserId()));
+        var userMap = userIds.isEmpty() ? new HashMap<Integer, User>() : getUsersByIDsMap(userIds);
+        var page = new ArrayList<ChannelVip>(userIds.size());
+        for (var vip : vips) {
+            var user = userMap.get(Integer.parseInt(vip.getUserId()));
+            if (user != null) page.add(new ChannelVip(user, channel)); // Skip unknown users
+        }
+
+        // Return page
+        return page;
+    }
+
+    public Pager<ChannelVip> pageVIPs(Integer channel) {
+        return pageVIPs(new TwitchUser(getUser(channel)));
+    }
+
+    public Pager<ChannelVip> pageVIPs(String channel) {
+        return pageVIPs(new TwitchUser(getUser(channel)));
+    }
 
 
 
-    private HashSet<ChannelSubscriber> getSubscribers(TwitchUser channel, String accessToken, @Nullable String cursor) {
+
+
+    private HashSet<ChannelSubscriber> getSubscribers(TwitchUser channel, String accessToken, @Nullable HashSet<ChannelSubscriber> cache) {
 
         // Check Parameters
         if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
         if (accessToken == null || accessToken.isBlank()) throw new IllegalArgumentException("Access Token cannot be null or blank");
 
-        // Get ID
+        // Variables
         var id = channel.getId();
+        var diff = new RoleDiff<Subscription, ChannelSubscriber>(cache, subscription -> Integer.parseInt(subscription.getUserId()), RoleHandler::isSameSubscription);
+        var prefetch = new Prefetcher<Integer, User>(this::getUsersByIDsMap, Pager.DEFAULT_PREFETCH);
+        String cursor = null;
 
-        // Get Subscribers
-        var subscriptionList = helix.getSubscriptions(accessToken, id.toString(), cursor, null, LIMIT).execute();
+        // Compare all pages with the cache
+        do {
 
-        // Null check
-        if (subscriptionList == null) throw new IllegalStateException("Failed to get subscribers for channel ID: " + id);
-        var subscriptions = subscriptionList.getSubscriptions();
-        if (subscriptions == null) throw new IllegalStateException("Failed to get subscribers for channel ID: " + id);
-        if (subscriptions.isEmpty()) return new HashSet<>();
+            // Get Subscribers
+            var subscriptionList = helix.getSubscriptions(accessToken, id.toString(), cursor, null, LIMIT).execute();
+
+            // Null check
+            if (subscriptionList == null) throw new IllegalStateException("Failed to get subscribers for channel ID: " + id);
+            var subscriptions = subscriptionList.getSubscriptions();
+            if (subscriptions == null) throw new IllegalStateException("Failed to get subscribers for channel ID: " + id);
+            if (subscriptions.isEmpty()) break; // No more Subscribers
+
+            // Compare page
+            prefetch.submit(diff.add(subscriptions)); // New users are resolved while the next page is requested
+
+            // Check if there are more Subscribers
+            var pagination = subscriptionList.getPagination();
+            cursor = pagination != null ? pagination.getCursor() : null;
+        } while (cursor != null);
 
         // Check if cache is up to date
-        var cache = subscriberCache.get(id);
-        if (cursor == null && cache != null) {
-            var cachedIds = new HashSet<String>();
-            var fetchedIds = new HashSet<String>();
-            cache.forEach(subscriber -> cachedIds.add(subscriber.getId().toString()));
-            subscriptions.forEach(subscriber -> fetchedIds.add(subscriber.getUserId()));
-            if (cachedIds.containsAll(fetchedIds)) return null; // Cache is up to date
-        }
+        if (cache != null && diff.isUnchanged()) return cache;
 
-        // Convert to ChannelSubscriber HashSet
-        var subscriberIds = new HashSet<Integer>();
-        for (var subscription : subscriptions) {
-            subscriberIds.add(Integer.parseInt(subscription.getUserId()));
-            if (subscription.getIsGift()) subscriberIds.add(Integer.parseInt(subscription.getGifterId()));
-        }
-        var userMap = getUsersByIDsMap(subscriberIds);
-        var fetchedChannelSubscribers = new HashSet<ChannelSubscriber>();
-        for (var subscription : subscriptions) {
+        // Resolve gifters of new or changed subscriptions, added subscribers were resolved while paging
+        var userMap = prefetch.join();
+        var gifterIds = new HashSet<Integer>();
+        for (var subscription : diff.getAdded()) if (subscription.getIsGift()) gifterIds.add(Integer.parseInt(subscription.getGifterId()));
+        for (var subscription : diff.getChanged()) if (subscription.getIsGift()) gifterIds.add(Integer.parseInt(subscription.getGifterId()));
+        gifterIds.removeIf(userMap::containsKey);
+        if (!gifterIds.isEmpty()) userMap.putAll(getUsersByIDsMap(gifterIds));
+        var patched = new ArrayList<ChannelSubscriber>();
+
+        // Add new Subscribers
+        for (var subscription : diff.getAdded()) {
 
             // Get User
             var user = userMap.get(Integer.parseInt(subscription.getUserId()));
             if (user == null) continue; // User not found, skip
 
             // Add Subscriber
-            fetchedChannelSubscribers.add(new ChannelSubscriber(
+            patched.add(new ChannelSubscriber(
                     subscription,                                                                                   // Subscription
-                    userMap.get(Integer.parseInt(subscription.getUserId())),                                        // Subscriber
+                    user,                                                                                           // Subscriber
                     channel,                                                                                        // Channel
                     subscription.getIsGift() ? userMap.get(Integer.parseInt(subscription.getGifterId())) : null     // Gifter (if gifted)
             ));
         }
 
-        // Check if there are more Subscribers
-        var pagination = subscriptionList.getPagination();
-        var nextCursor = pagination != null ? pagination.getCursor() : null;
-        if (nextCursor != null) fetchedChannelSubscribers.addAll(Objects.requireNonNull(getSubscribers(channel, accessToken, nextCursor)));
+        // Update changed Subscriptions, the subscriber is already known
+        for (var subscription : diff.getChanged()) patched.add(new ChannelSubscriber(
+                subscription,                                                                                       // Subscription
+                diff.getCached(Integer.parseInt(subscription.getUserId())),                                         // Subscriber
+                channel,                                                                                            // Channel
+                subscription.getIsGift() ? userMap.get(Integer.parseInt(subscription.getGifterId())) : null         // Gifter (if gifted)
+        ));
 
-        // Return Subscribers
-        return fetchedChannelSubscribers;
+        // Return patched Subscribers
+        return diff.apply(patched);
+    }
+
+    // Tier and gifter of a cached subscription are unchanged
+    private static boolean isSameSubscription(Subscription subscription, ChannelSubscriber cached) {
+        var gifter = cached.getGifter();
+        return cached.getTier() == ChannelSubscriber.Tier.fromString(subscription.getTier())
+                && cached.isGift() == subscription.getIsGift()
+                && Objects.equals(gifter != null ? gifter.getId().toString() : null, subscription.getIsGift() ? subscription.getGifterId() : null);
     }
 
     public HashSet<ChannelSubscriber> getSubscribers(TwitchUser channel) {
@@ -390,6 +569,12 @@ public class RoleHandler extends Handler {
         // Check Parameters
         if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
 
+        // Copy of the cached set, concurrent loads are joined
+        return new HashSet<>(roleCache.<ChannelSubscriber>get(SUBSCRIBERS, channel.getId()));
+    }
+
+    private HashSet<ChannelSubscriber> loadSubscribers(TwitchUser channel, @Nullable HashSet<ChannelSubscriber> cached) {
+
         // Get Access Token
         var id = channel.getId();
         var authToken = tokenHandler.getAuthToken(id);
@@ -399,12 +584,7 @@ public class RoleHandler extends Handler {
         if (!authToken.hasScope(CHANNEL_READ_SUBSCRIPTIONS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_READ_SUBSCRIPTIONS.getScope());
 
         // Get Subscribers
-        var subscribers = getSubscribers(channel, authToken.getAccessToken(), null);
-        if (subscribers == null) return subscriberCache.get(id);  // Cache is up to date
-        if (subscribers.isEmpty()) return new HashSet<>();        // No Subscribers found
-
-        // Update cache
-        subscriberCache.put(id, subscribers);
+        var subscribers = callWithToken(authToken, accessToken -> getSubscribers(channel, accessToken, cached));
 
         // Return Subscribers
         return subscribers;
@@ -418,11 +598,74 @@ public class RoleHandler extends Handler {
         return getSubscribers(new TwitchUser(getUser(channel)));
     }
 
+    // Page through subscribers with constant memory, users are resolved page by page
+    public Pager<ChannelSubscriber> pageSubscribers(TwitchUser channel) {
+
+        // Check Parameters
+        if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
+
+        // Get Access Token
+        var id = channel.getId();
+        var authToken = tokenHandler.getAuthToken(id);
+
+        // Check AuthToken
+        if (authToken == null) throw new IllegalArgumentException("AuthToken cannot be null");
+        if (!authToken.hasScope(CHANNEL_READ_SUBSCRIPTIONS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_READ_SUBSCRIPTIONS.getScope());
+
+        // Next page is requested while the users of the current one are resolved
+        return Pager.pipelined(cursor -> callWithToken(id, accessToken -> getSubscribersPage(channel, accessToken, cursor)), entries -> resolveSubscribers(channel, entries));
+    }
+
+    private Pager.Page<Subscription> getSubscribersPage(TwitchUser channel, String accessToken, @Nullable String cursor) {
+
+        // Get ID
+        var id = channel.getId();
+
+        // Get Subscribers
+        var subscriptionList = helix.getSubscriptions(accessToken, id.toString(), cursor, null, LIMIT).execute();
+
+        // Null check
+        if (subscriptionList == null) throw new IllegalStateException("Failed to get subscribers for channel ID: " + id);
+        var subscriptions = subscriptionList.getSubscriptions();
+        if (subscriptions == null) throw new IllegalStateException("Failed to get subscribers for channel ID: " + id);
+        var pagination = subscriptionList.getPagination();
+
+        // Return page, an empty page ends pagination
+        return new Pager.Page<>(subscriptions, subscriptions.isEmpty() || pagination == null ? null : pagination.getCursor());
+    }
+
+    private List<ChannelSubscriber> resolveSubscribers(TwitchUser channel, List<Subscription> subscriptions) {
+
+        // Resolve users of this page
+        var userIds = new HashSet<Integer>();
+        for (var subscription : subscriptions) {
+            userIds.add(Integer.parseInt(subscription.getUserId()));
+            if (subscription.getIsGift()) userIds.add(Integer.parseInt(subscription.getGifterId()));
+        }
+        var userMap = userIds.isEmpty() ? new HashMap<Integer, User>() : getUsersByIDsMap(userIds);
+        var page = new ArrayList<ChannelSubscriber>(userIds.size());
+        for (var subscription : subscriptions) {
+            var user = userMap.get(Integer.parseInt(subscription.getUserId()));
+            if (user != null) page.add(new ChannelSubscriber(subscription, user, channel, subscription.getIsGift() ? userMap.get(Integer.parseInt(subscription.getGifterId())) : null)); // Skip unknown users
+        }
+
+        // Return page
+        return page;
+    }
+
+    public Pager<ChannelSubscriber> pageSubscribers(Integer channel) {
+        return pageSubscribers(new TwitchUser(getUser(channel)));
+    }
+
+    public Pager<ChannelSubscriber> pageSubscribers(String channel) {
+        return pageSubscribers(new TwitchUser(getUser(channel)));
+    }
 
 
 
 
-    private HashSet<ChannelFollower> getFollowers(TwitchUser channel, String accessToken, @Nullable String cursor) {
+
+    private HashSet<ChannelFollower> getFollowers(TwitchUser channel, String accessToken, @Nullable HashSet<ChannelFollower> cache) {
 
         // Check Parameters
         if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
@@ -431,51 +674,211 @@ public class RoleHandler extends Handler {
         // Get ID
         var id = channel.getId();
 
-        // Get Followers
-        var inboundFollowers = helix.getChannelFollowers(accessToken, id.toString(), null, LIMIT, cursor).execute();
+        // Read only follows newer than the last sync if the cache carries its mark
+        if (cache instanceof FollowerSet followers && followers.mark != null) {
+            var synced = getNewFollowers(channel, accessToken, followers, followers.mark);
+            if (synced != null) return synced;
+        }
 
-        // Null check
-        if (inboundFollowers == null) throw new IllegalStateException("Failed to get followers for channel ID: " + id);
-        var follows = inboundFollowers.getFollows();
-        if (follows == null) throw new IllegalStateException("Failed to get followers for channel ID: " + id);
-        if (follows.isEmpty()) return new HashSet<>();
+        // Variables
+        var diff = new RoleDiff<InboundFollow, ChannelFollower>(cache, follow -> Integer.parseInt(follow.getUserId()), (follow, cached) -> Objects.equals(follow.getFollowedAt(), cached.getFollowedAt()));
+        var prefetch = new Prefetcher<Integer, User>(this::getUsersByIDsMap, Pager.DEFAULT_PREFETCH);
+        InboundFollow newest = null;
+        Integer total = null;
+        String cursor = null;
+
+        // Compare all pages with the cache
+        do {
+
+            // Get Followers
+            var inboundFollowers = helix.getChannelFollowers(accessToken, id.toString(), null, LIMIT, cursor).execute();
+
+            // Null check
+            if (inboundFollowers == null) throw new IllegalStateException("Failed to get followers for channel ID: " + id);
+            var follows = inboundFollowers.getFollows();
+            if (follows == null) throw new IllegalStateException("Failed to get followers for channel ID: " + id);
+            if (total == null) total = inboundFollowers.getTotal();
+            if (follows.isEmpty()) break; // No more Followers
+
+            // Compare page, followers are listed newest first
+            if (newest == null) newest = follows.getFirst();
+            prefetch.submit(diff.add(follows)); // New users are resolved while the next page is requested
+
+            // Check if there are more Followers
+            var pagination = inboundFollowers.getPagination();
+            cursor = pagination != null ? pagination.getCursor() : null;
+        } while (cursor != null);
+
+        // Newest follow for the next sync
+        var mark = total == null ? null : new FollowerMark(newest, total);
 
         // Check if cache is up to date
-        var cache = followerCache.get(id);
-        if (cursor == null && cache != null) {
-            var cachedIds = new HashSet<String>();
-            var fetchedIds = new HashSet<String>();
-            cache.forEach(follower -> cachedIds.add(follower.getId().toString()));
-            follows.forEach(follower -> fetchedIds.add(follower.getUserId()));
-            if (cachedIds.containsAll(fetchedIds)) return null; // Cache is up to date
+        if (cache != null && diff.isUnchanged()) return cache instanceof FollowerSet followers && Objects.equals(followers.mark, mark) ? cache : new FollowerSet(cache, mark);
+
+        // Wait for added followers, they were resolved while paging
+        var userMap = prefetch.join();
+        var patched = new ArrayList<ChannelFollower>();
+
+        // Add new Followers
+        for (var follow : diff.getAdded()) {
+
+            // Get User
+            var user = userMap.get(Integer.parseInt(follow.getUserId()));
+            if (user == null) {
+                mark = null; // User not found, skip and read all followers on the next sync
+                continue;
+            }
+
+            // Add Follower
+            patched.add(new ChannelFollower(
+                    follow,     // Follow
+                    user,       // Follower
+                    channel     // Channel
+            ));
         }
 
-        // Convert to ChannelFollower HashSet
-        var followerIds = new HashSet<Integer>();
+        // Update refollows, the follower is already known
+        for (var follow : diff.getChanged()) patched.add(new ChannelFollower(
+                follow,                                                 // Follow
+                diff.getCached(Integer.parseInt(follow.getUserId())),   // Follower
+                channel                                                 // Channel
+        ));
+
+        // Return patched Followers with the mark they are synced up to
+        var synced = mark;
+        return diff.apply(patched, size -> new FollowerSet(size, synced));
+    }
+
+    // Read follows newer than the mark, returns null if a full reconciliation is needed
+    private @Nullable FollowerSet getNewFollowers(TwitchUser channel, String accessToken, FollowerSet cache, FollowerMark mark) {
+
+        // Variables
+        var id = channel.getId();
+        var follows = new ArrayList<InboundFollow>();
+        var reachedMark = false;
+        InboundFollow newest = null;
+        Integer total = null;
+        String cursor = null;
+
+        // Read newest first until the mark is reached, new users are resolved while the next page is requested
+        var prefetch = new Prefetcher<Integer, User>(this::getUsersByIDsMap, Pager.DEFAULT_PREFETCH);
+        do {
+
+            // Get Followers
+            var inboundFollowers = helix.getChannelFollowers(accessToken, id.toString(), null, LIMIT, cursor).execute();
+
+            // Null check
+            if (inboundFollowers == null) throw new IllegalStateException("Failed to get followers for channel ID: " + id);
+            var page = inboundFollowers.getFollows();
+            if (page == null) throw new IllegalStateException("Failed to get followers for channel ID: " + id);
+            if (total == null) total = inboundFollowers.getTotal();
+            if (page.isEmpty()) break; // No more Followers
+
+            // Collect follows up to the mark
+            if (newest == null) newest = page.getFirst();
+            var pageIds = new HashSet<Integer>();
+            for (var follow : page) {
+                if (mark.isReachedBy(follow)) {
+                    reachedMark = true;
+                    break;
+                }
+                follows.add(follow);
+                pageIds.add(Integer.parseInt(follow.getUserId()));
+            }
+            prefetch.submit(pageIds);
+
+            // Check if there are more Followers
+            var pagination = inboundFollowers.getPagination();
+            cursor = pagination != null ? pagination.getCursor() : null;
+        } while (!reachedMark && cursor != null);
+
+        // Unfollows show up as a total lower than the last total plus the new follows
+        if (total == null || (!reachedMark && mark.followedAt != null) || total != mark.total + follows.size()) return null;
+        if (follows.isEmpty()) return cache; // Cache is up to date
+
+        // Wait for new followers
+        HashSet<Integer> followerIds = HashSet.newHashSet(follows.size());
         for (var follow : follows) followerIds.add(Integer.parseInt(follow.getUserId()));
-        var userMap = getUsersByIDsMap(followerIds);
-        var fetchedFollowers = new HashSet<ChannelFollower>();
+        var userMap = prefetch.join();
+
+        // Resolve new followers, the mark only moves if all of them were found
+        var added = new ArrayList<ChannelFollower>(follows.size());
+        var resolved = true;
         for (var follow : follows) {
 
             // Get User
             var user = userMap.get(Integer.parseInt(follow.getUserId()));
-            if (user == null) continue; // User not found, skip
+            if (user == null) {
+                resolved = false; // User not found, skip and read it again on the next sync
+                continue;
+            }
 
             // Add Follower
-            fetchedFollowers.add(new ChannelFollower(
-                    follow,                                             // Follow
-                    userMap.get(Integer.parseInt(follow.getUserId())),  // Follower
-                    channel                                             // Channel
+            added.add(new ChannelFollower(
+                    follow,     // Follow
+                    user,       // Follower
+                    channel     // Channel
             ));
         }
 
-        // Check if there are more Followers
-        var pagination = inboundFollowers.getPagination();
-        var nextCursor = pagination != null ? pagination.getCursor() : null;
-        if (nextCursor != null) fetchedFollowers.addAll(Objects.requireNonNull(getFollowers(channel, accessToken, nextCursor)));
+        // Patch new followers into a copy of the cache
+        var followers = new FollowerSet(cache, resolved ? new FollowerMark(newest, total) : mark);
+        followers.removeIf(follower -> followerIds.contains(follower.getId()));
+        followers.addAll(added);
 
         // Return Followers
-        return fetchedFollowers;
+        return followers;
+    }
+
+    // Follower set with the mark it is synced up to, both are cached as one value
+    private static class FollowerSet extends HashSet<ChannelFollower> {
+
+        // Attributes
+        private final @Nullable FollowerMark mark;
+
+        // Constructor
+        private FollowerSet(int expectedSize, @Nullable FollowerMark mark) {
+            super(Math.max(16, (int) Math.ceil(expectedSize / 0.75)));
+            this.mark = mark;
+        }
+
+        private FollowerSet(Collection<ChannelFollower> followers, @Nullable FollowerMark mark) {
+            super(followers);
+            this.mark = mark;
+        }
+    }
+
+    // Newest follow and follower total seen by the last sync
+    private static class FollowerMark {
+
+        // Attributes
+        private final @Nullable Instant followedAt;
+        private final @Nullable Integer userId;
+        private final int total;
+
+        // Constructor
+        private FollowerMark(@Nullable InboundFollow newest, int total) {
+            followedAt = newest != null ? newest.getFollowedAt() : null;
+            userId = newest != null ? Integer.valueOf(newest.getUserId()) : null;
+            this.total = total;
+        }
+
+        // Follow is the mark itself or older
+        private boolean isReachedBy(InboundFollow follow) {
+            if (followedAt == null) return false;
+            if (follow.getFollowedAt().isBefore(followedAt)) return true;
+            return follow.getFollowedAt().equals(followedAt) && userId.equals(Integer.valueOf(follow.getUserId()));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof FollowerMark mark && total == mark.total && Objects.equals(followedAt, mark.followedAt) && Objects.equals(userId, mark.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(followedAt, userId, total);
+        }
     }
 
     public HashSet<ChannelFollower> getFollowers(TwitchUser channel) {
@@ -483,6 +886,12 @@ public class RoleHandler extends Handler {
         // Check Parameters
         if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
 
+        // Copy of the cached set, concurrent loads are joined
+        return new HashSet<>(roleCache.<ChannelFollower>get(FOLLOWERS, channel.getId()));
+    }
+
+    private HashSet<ChannelFollower> loadFollowers(TwitchUser channel, @Nullable HashSet<ChannelFollower> cached) {
+
         // Get Access Token
         var id = channel.getId();
         var authToken = tokenHandler.getAuthToken(id);
@@ -492,12 +901,7 @@ public class RoleHandler extends Handler {
         if (!authToken.hasScope(MODERATOR_READ_FOLLOWERS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + MODERATOR_READ_FOLLOWERS.getScope());
 
         // Get Followers
-        var followers = getFollowers(channel, authToken.getAccessToken(), null);
-        if (followers == null) return followerCache.get(id);    // Cache is up to date
-        if (followers.isEmpty()) return new HashSet<>();        // No Followers found
-
-        // Update cache
-        followerCache.put(id, followers);
+        var followers = callWithToken(authToken, accessToken -> getFollowers(channel, accessToken, cached));
 
         // Return Followers
         return followers;
@@ -511,6 +915,66 @@ public class RoleHandler extends Handler {
         return getFollowers(new TwitchUser(getUser(channel)));
     }
 
+    // Page through followers with constant memory, users are resolved page by page
+    public Pager<ChannelFollower> pageFollowers(TwitchUser channel) {
+
+        // Check Parameters
+        if (channel == null) throw new IllegalArgumentException("Channel cannot be null");
+
+        // Get Access Token
+        var id = channel.getId();
+        var authToken = tokenHandler.getAuthToken(id);
+
+        // Check AuthToken
+        if (authToken == null) throw new IllegalArgumentException("AuthToken cannot be null");
+        if (!authToken.hasScope(MODERATOR_READ_FOLLOWERS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + MODERATOR_READ_FOLLOWERS.getScope());
+
+        // Next page is requested while the users of the current one are resolved
+        return Pager.pipelined(cursor -> callWithToken(id, accessToken -> getFollowersPage(channel, accessToken, cursor)), entries -> resolveFollowers(channel, entries));
+    }
+
+    private Pager.Page<InboundFollow> getFollowersPage(TwitchUser channel, String accessToken, @Nullable String cursor) {
+
+        // Get ID
+        var id = channel.getId();
+
+        // Get Followers
+        var inboundFollowers = helix.getChannelFollowers(accessToken, id.toString(), null, LIMIT, cursor).execute();
+
+        // Null check
+        if (inboundFollowers == null) throw new IllegalStateException("Failed to get followers for channel ID: " + id);
+        var follows = inboundFollowers.getFollows();
+        if (follows == null) throw new IllegalStateException("Failed to get followers for channel ID: " + id);
+        var pagination = inboundFollowers.getPagination();
+
+        // Return page, an empty page ends pagination
+        return new Pager.Page<>(follows, follows.isEmpty() || pagination == null ? null : pagination.getCursor());
+    }
+
+    private List<ChannelFollower> resolveFollowers(TwitchUser channel, List<InboundFollow> follows) {
+
+        // Resolve users of this page
+        var userIds = new HashSet<Integer>();
+        for (var follow : follows) userIds.add(Integer.parseInt(follow.getUserId()));
+        var userMap = userIds.isEmpty() ? new HashMap<Integer, User>() : getUsersByIDsMap(userIds);
+        var page = new ArrayList<ChannelFollower>(userIds.size());
+        for (var follow : follows) {
+            var user = userMap.get(Integer.parseInt(follow.getUserId()));
+            if (user != null) page.add(new ChannelFollower(follow, user, channel)); // Skip unknown users
+        }
+
+        // Return page
+        return page;
+    }
+
+    public Pager<ChannelFollower> pageFollowers(Integer channel) {
+        return pageFollowers(new TwitchUser(getUser(channel)));
+    }
+
+    public Pager<ChannelFollower> pageFollowers(String channel) {
+        return pageFollowers(new TwitchUser(getUser(channel)));
+    }
+
 
 
 
@@ -581,9 +1045,12 @@ public class RoleHandler extends Handler {
         // Check size and chunk
         if (size > LIMIT) {
             var userMap = new HashMap<TwitchUser, Boolean>();
-            for (var i = 0; i < size; i += LIMIT) userMap.putAll(checkModerators(new HashSet<>(users.stream().toList().subList(i, Math.min(i + LIMIT, size))), channel, authToken.getAccessToken()));
+            for (var i = 0; i < size; i += LIMIT) {
+                var chunk = new HashSet<>(users.stream().toList().subList(i, Math.min(i + LIMIT, size)));
+                userMap.putAll(callWithToken(authToken, accessToken -> checkModerators(chunk, channel, accessToken)));
+            }
             return userMap;
-        } else return checkModerators(users, channel, authToken.getAccessToken());
+        } else return callWithToken(authToken, accessToken -> checkModerators(users, channel, accessToken));
     }
 
     public HashMap<TwitchUser, Boolean> checkModerators(HashSet<TwitchUser> users, Integer channel) {
@@ -758,9 +1225,12 @@ public class RoleHandler extends Handler {
         // Check size and chunk
         if (size > LIMIT) {
             var userMap = new HashMap<TwitchUser, Boolean>();
-            for (var i = 0; i < size; i += LIMIT) userMap.putAll(checkVIPs(new HashSet<>(users.stream().toList().subList(i, Math.min(i + LIMIT, size))), channel, authToken.getAccessToken()));
+            for (var i = 0; i < size; i += LIMIT) {
+                var chunk = new HashSet<>(users.stream().toList().subList(i, Math.min(i + LIMIT, size)));
+                userMap.putAll(callWithToken(authToken, accessToken -> checkVIPs(chunk, channel, accessToken)));
+            }
             return userMap;
-        } else return checkVIPs(users, channel, authToken.getAccessToken());
+        } else return callWithToken(authToken, accessToken -> checkVIPs(users, channel, accessToken));
     }
 
     public HashMap<TwitchUser, Boolean> checkVIPs(HashSet<TwitchUser> users, Integer channel) {
@@ -813,8 +1283,8 @@ public class RoleHandler extends Handler {
         // Variables
         var userMap = new HashMap<TwitchUser, Boolean>();
 
-        // Get Subscribers
-        var subscribers = getSubscribers(channel);
+        // Get cached Subscribers
+        var subscribers = roleCache.<ChannelSubscriber>get(SUBSCRIBERS, channel.getId());
 
         // Mark found subscribers
         var subscriberIds = new HashSet<>(subscribers.stream().map(TwitchUser::getId).toList());
@@ -884,8 +1354,8 @@ public class RoleHandler extends Handler {
         // Variables
         var userMap = new HashMap<TwitchUser, Boolean>();
 
-        // Get Subscribers
-        var followers = getFollowers(channel);
+        // Get cached Followers
+        var followers = roleCache.<ChannelFollower>get(FOLLOWERS, channel.getId());
 
         // Mark found followers
         var followerIds = new HashSet<>(followers.stream().map(TwitchUser::getId).toList());
@@ -925,7 +1395,7 @@ public class RoleHandler extends Handler {
         if (!authToken.hasScope(MODERATOR_READ_FOLLOWERS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + MODERATOR_READ_FOLLOWERS.getScope());
 
         // Get Followers
-        var inboundFollowers = helix.getChannelFollowers(authToken.getAccessToken(), id.toString(), userId, 1, null).execute();
+        var inboundFollowers = callWithToken(authToken, accessToken -> helix.getChannelFollowers(accessToken, id.toString(), userId, 1, null).execute());
 
         // Null check
         if (inboundFollowers == null) throw new IllegalStateException("Failed to get followers for channel ID: " + id);
@@ -993,7 +1463,8 @@ public class RoleHandler extends Handler {
         if (!authToken.hasScope(CHANNEL_MANAGE_MODERATORS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_MANAGE_MODERATORS.getScope());
 
         // Add moderator
-        helix.addChannelModerator(authToken.getAccessToken(), id.toString(), user.getId().toString()).execute();
+        runWithToken(authToken, accessToken -> helix.addChannelModerator(accessToken, id.toString(), user.getId().toString()).execute());
+        roleCache.invalidate(MODERATORS, id);   // Cached set is outdated
 
         // Check if moderator was added
         return isModerator(user, channel);
@@ -1017,7 +1488,8 @@ public class RoleHandler extends Handler {
         if (!authToken.hasScope(CHANNEL_MANAGE_MODERATORS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_MANAGE_MODERATORS.getScope());
 
         // Remove moderator
-        helix.removeChannelModerator(authToken.getAccessToken(), id.toString(), user.getId().toString()).execute();
+        runWithToken(authToken, accessToken -> helix.removeChannelModerator(accessToken, id.toString(), user.getId().toString()).execute());
+        roleCache.invalidate(MODERATORS, id);   // Cached set is outdated
 
         // Check if moderator was removed
         return !isModerator(user, channel);
@@ -1044,7 +1516,8 @@ public class RoleHandler extends Handler {
         if (!authToken.hasScope(CHANNEL_MANAGE_VIPS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_MANAGE_VIPS.getScope());
 
         // Add VIP
-        helix.addChannelVip(authToken.getAccessToken(), id.toString(), user.getId().toString()).execute();
+        runWithToken(authToken, accessToken -> helix.addChannelVip(accessToken, id.toString(), user.getId().toString()).execute());
+        roleCache.invalidate(VIPS, id);   // Cached set is outdated
 
         // Check if VIP was added
         return isVIP(user, channel);
@@ -1068,7 +1541,8 @@ public class RoleHandler extends Handler {
         if (!authToken.hasScope(CHANNEL_MANAGE_VIPS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_MANAGE_VIPS.getScope());
 
         // Remove VIP
-        helix.removeChannelVip(authToken.getAccessToken(), id.toString(), user.getId().toString()).execute();
+        runWithToken(authToken, accessToken -> helix.removeChannelVip(accessToken, id.toString(), user.getId().toString()).execute());
+        roleCache.invalidate(VIPS, id);   // Cached set is outdated
 
         // Check if VIP was removed
         return !isVIP(user, channel);
@@ -1083,44 +1557,51 @@ public class RoleHandler extends Handler {
 
 
 
-    // Get Caches
+    // Get Caches, the role cache hands out read-only views without copying
+    public RoleCache getRoleCache() {
+        return roleCache;
+    }
+
+    private static <T> HashMap<Integer, HashSet<T>> copy(HashMap<Integer, Set<T>> cache) {
+        var copy = HashMap.<Integer, HashSet<T>>newHashMap(cache.size());
+        cache.forEach((channel, roles) -> copy.put(channel, new HashSet<>(roles)));
+        return copy;
+    }
+
     public HashMap<Integer, HashSet<ChannelModerator>> getModeratorCache() {
-        return new HashMap<>(moderatorCache);
+        return copy(roleCache.asMap(MODERATORS));
     }
 
     public HashMap<Integer, HashSet<ChannelVip>> getVIPCache() {
-        return new HashMap<>(vipCache);
+        return copy(roleCache.asMap(VIPS));
     }
 
     public HashMap<Integer, HashSet<ChannelSubscriber>> getSubscriberCache() {
-        return new HashMap<>(subscriberCache);
+        return copy(roleCache.asMap(SUBSCRIBERS));
     }
 
     public HashMap<Integer, HashSet<ChannelFollower>> getFollowerCache() {
-        return new HashMap<>(followerCache);
+        return copy(roleCache.asMap(FOLLOWERS));
     }
 
     // Clear Caches
     public void clearModeratorCache() {
-        moderatorCache.clear();
+        roleCache.invalidateAll(MODERATORS);
     }
 
     public void clearVIPCache() {
-        vipCache.clear();
+        roleCache.invalidateAll(VIPS);
     }
 
     public void clearSubscriberCache() {
-        subscriberCache.clear();
+        roleCache.invalidateAll(SUBSCRIBERS);
     }
 
     public void clearFollowerCache() {
-        followerCache.clear();
+        roleCache.invalidateAll(FOLLOWERS);
     }
 
     public void clearCaches() {
-        clearModeratorCache();
-        clearVIPCache();
-        clearSubscriberCache();
-        clearFollowerCache();
+        roleCache.invalidateAll();
     }
-}
\ No newline at end of file
+}
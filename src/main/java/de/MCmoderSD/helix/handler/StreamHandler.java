@@ -2,6 +2,8 @@ package de.MCmoderSD.helix.handler;
 
 import com.github.twitch4j.helix.TwitchHelix;
 
+import de.MCmoderSD.helix.cache.UserBatcher;
+import de.MCmoderSD.helix.cache.UserCache;
 import de.MCmoderSD.helix.core.TokenHandler;
 import de.MCmoderSD.helix.enums.Scope;
 import de.MCmoderSD.helix.objects.TwitchUser;
@@ -21,8 +23,8 @@ public class StreamHandler extends Handler {
     };
 
     // Constructor
-    public StreamHandler(TwitchHelix helix, TokenHandler tokenHandler) {
-        super(helix, tokenHandler);
+    public StreamHandler(TwitchHelix helix, TokenHandler tokenHandler, UserCache userCache, UserBatcher userBatcher) {
+        super(helix, tokenHandler, userCache, userBatcher);
     }
 
 
@@ -44,19 +46,19 @@ public class StreamHandler extends Handler {
         if (!authToken.hasScope(CHANNEL_EDIT_COMMERCIAL)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_EDIT_COMMERCIAL.getScope());
 
         // Start commercial
-        helix.startCommercial(
-                authToken.getAccessToken(),     // Access Token of the channel
+        runWithToken(authToken, accessToken -> helix.startCommercial(
+                accessToken,                    // Access Token of the channel
                 channel.getId().toString(),     // Broadcaster ID
                 length.getSeconds()             // Length in seconds
-        ).execute();
+        ).execute());
     }
 
     public void runCommercial(Integer channel, CommercialLength length) {
-        runCommercial(new TwitchUser(getUser(channel)), length);
+        runCommercial(getUserReference(channel), length);
     }
 
     public void runCommercial(String channel, CommercialLength length) {
-        runCommercial(new TwitchUser(getUser(channel)), length);
+        runCommercial(getUserReference(channel), length);
     }
 
 
@@ -78,43 +80,43 @@ public class StreamHandler extends Handler {
         if (!authToken.hasScope(CHANNEL_MANAGE_RAIDS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_MANAGE_RAIDS.getScope());
 
         // Start raid
-        helix.startRaid(
-                authToken.getAccessToken(),         // Access Token of the channel
+        runWithToken(authToken, accessToken -> helix.startRaid(
+                accessToken,                        // Access Token of the channel
                 channel.getId().toString(),         // Source Channel ID
                 user.getId().toString()             // Target Channel ID
-        ).execute();
+        ).execute());
     }
 
     public void startRaid(Integer user, Integer channel) {
-        startRaid(new TwitchUser(getUser(user)), new TwitchUser(getUser(channel)));
+        startRaid(getUserReference(user), getUserReference(channel));
     }
 
     public void startRaid(String user, String channel) {
-        startRaid(new TwitchUser(getUser(user)), new TwitchUser(getUser(channel)));
+        startRaid(getUserReference(user), getUserReference(channel));
     }
 
     public void startRaid(Integer user, String channel) {
-        startRaid(new TwitchUser(getUser(user)), new TwitchUser(getUser(channel)));
+        startRaid(getUserReference(user), getUserReference(channel));
     }
 
     public void startRaid(String user, Integer channel) {
-        startRaid(new TwitchUser(getUser(user)), new TwitchUser(getUser(channel)));
+        startRaid(getUserReference(user), getUserReference(channel));
     }
 
     public void startRaid(TwitchUser user, Integer channel) {
-        startRaid(user, new TwitchUser(getUser(channel)));
+        startRaid(user, getUserReference(channel));
     }
 
     public void startRaid(TwitchUser user, String channel) {
-        startRaid(user, new TwitchUser(getUser(channel)));
+        startRaid(user, getUserReference(channel));
     }
 
     public void startRaid(Integer user, TwitchUser channel) {
-        startRaid(new TwitchUser(getUser(user)), channel);
+        startRaid(getUserReference(user), channel);
     }
 
     public void startRaid(String user, TwitchUser channel) {
-        startRaid(new TwitchUser(getUser(user)), channel);
+        startRaid(getUserReference(user), channel);
     }
 
 
@@ -135,18 +137,18 @@ public class StreamHandler extends Handler {
         if (!authToken.hasScope(CHANNEL_MANAGE_RAIDS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + CHANNEL_MANAGE_RAIDS.getScope());
 
         // Cancel raid
-        helix.cancelRaid(
-                authToken.getAccessToken(),     // Access Token of the channel
+        runWithToken(authToken, accessToken -> helix.cancelRaid(
+                accessToken,                    // Access Token of the channel
                 channel.getId().toString()      // Channel ID
-        ).execute();
+        ).execute());
     }
 
     public void cancelRaid(Integer channel) {
-        cancelRaid(new TwitchUser(getUser(channel)));
+        cancelRaid(getUserReference(channel));
     }
 
     public void cancelRaid(String channel) {
-        cancelRaid(new TwitchUser(getUser(channel)));
+        cancelRaid(getUserReference(channel));
     }
 
 
@@ -168,44 +170,44 @@ public class StreamHandler extends Handler {
         if (!authToken.hasScope(MODERATOR_MANAGE_SHOUTOUTS)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + MODERATOR_MANAGE_SHOUTOUTS.getScope());
 
         // Send shoutout
-        helix.sendShoutout(
-                authToken.getAccessToken(),     // Access Token of the channel
+        runWithToken(authToken, accessToken -> helix.sendShoutout(
+                accessToken,                    // Access Token of the channel
                 channel.getId().toString(),     // Source ID
                 user.getId().toString(),        // Target ID
                 channel.getId().toString()      // Moderator ID (same as Source ID)
-        ).execute();
+        ).execute());
     }
 
     public void sendShoutout(Integer user, Integer channel) {
-        sendShoutout(new TwitchUser(getUser(user)), new TwitchUser(getUser(channel)));
+        sendShoutout(getUserReference(user), getUserReference(channel));
     }
 
     public void sendShoutout(String user, String channel) {
-        sendShoutout(new TwitchUser(getUser(user)), new TwitchUser(getUser(channel)));
+        sendShoutout(getUserReference(user), getUserReference(channel));
     }
 
     public void sendShoutout(Integer user, String channel) {
-        sendShoutout(new TwitchUser(getUser(user)), new TwitchUser(getUser(channel)));
+        sendShoutout(getUserReference(user), getUserReference(channel));
     }
 
     public void sendShoutout(String user, Integer channel) {
-        sendShoutout(new TwitchUser(getUser(user)), new TwitchUser(getUser(channel)));
+        sendShoutout(getUserReference(user), getUserReference(channel));
     }
 
     public void sendShoutout(TwitchUser user, Integer channel) {
-        sendShoutout(user, new TwitchUser(getUser(channel)));
+        sendShoutout(user, getUserReference(channel));
     }
 
     public void sendShoutout(TwitchUser user, String channel) {
-        sendShoutout(user, new TwitchUser(getUser(channel)));
+        sendShoutout(user, getUserReference(channel));
     }
 
     public void sendShoutout(Integer user, TwitchUser channel) {
-        sendShoutout(new TwitchUser(getUser(user)), channel);
+        sendShoutout(getUserReference(user), channel);
     }
 
     public void sendShoutout(String user, TwitchUser channel) {
-        sendShoutout(new TwitchUser(getUser(user)), channel);
+        sendShoutout(getUserReference(user), channel);
     }
 
 
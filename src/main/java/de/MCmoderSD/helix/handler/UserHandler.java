@@ -2,12 +2,16 @@ package de.MCmoderSD.helix.handler;
 
 import com.github.twitch4j.helix.TwitchHelix;
 
+import de.MCmoderSD.helix.cache.UserBatcher;
+import de.MCmoderSD.helix.cache.UserCache;
 import de.MCmoderSD.helix.core.TokenHandler;
 import de.MCmoderSD.helix.enums.Scope;
 import de.MCmoderSD.helix.objects.TwitchUser;
+import de.MCmoderSD.helix.utilities.IntMap;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.stream.IntStream;
 
 import static de.MCmoderSD.helix.enums.Scope.USER_READ_EMAIL;
 
@@ -20,8 +24,8 @@ public class UserHandler extends Handler {
     };
 
     // Constructor
-    public UserHandler(TwitchHelix helix, TokenHandler tokenHandler) {
-        super(helix, tokenHandler);
+    public UserHandler(TwitchHelix helix, TokenHandler tokenHandler, UserCache userCache, UserBatcher userBatcher) {
+        super(helix, tokenHandler, userCache, userBatcher);
     }
 
     public TwitchUser getTwitchUser(Integer id) {
@@ -49,6 +53,24 @@ public class UserHandler extends Handler {
         return twitchUsers;
     }
 
+    public IntMap<TwitchUser> getTwitchUsers(int[] ids) {
+
+        // Variables
+        var users = getUsersByIDsMap(ids);
+        var twitchUsers = new IntMap<TwitchUser>(users.size());
+
+        // Convert to TwitchUser
+        users.forEach((id, user) -> twitchUsers.put(id, new TwitchUser(user)));
+
+        // Return users
+        return twitchUsers;
+    }
+
+    public IntMap<TwitchUser> getTwitchUsers(IntStream ids) {
+        if (ids == null) throw new IllegalArgumentException("IDs cannot be null");
+        return getTwitchUsers(ids.toArray());
+    }
+
     public HashSet<TwitchUser> getTwitchUsersByName(HashSet<String> usernames) {
 
         // Check Parameters
@@ -79,11 +101,11 @@ public class UserHandler extends Handler {
         if (!authToken.hasScope(USER_READ_EMAIL)) throw new IllegalArgumentException("AuthToken does not have the required scope: " + USER_READ_EMAIL.getScope());
 
         // Get user ID
-        var userList = helix.getUsers(
-                authToken.getAccessToken(),                                 // Access Token
+        var userList = callWithToken(authToken, accessToken -> helix.getUsers(
+                accessToken,                                                // Access Token
                 Collections.singletonList(twitchUser.getId().toString()),   // ID
                 Collections.singletonList(twitchUser.getUsername())         // Username
-        ).execute();
+        ).execute());
 
         // Null check
         if (userList == null) throw new IllegalStateException("Failed to get user email");
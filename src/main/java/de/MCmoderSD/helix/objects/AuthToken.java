@@ -4,38 +4,52 @@ import de.MCmoderSD.helix.core.TokenHandler;
 import de.MCmoderSD.helix.enums.Scope;
 
 import com.github.twitch4j.helix.TwitchHelix;
+import com.github.twitch4j.helix.domain.User;
+
+import org.jetbrains.annotations.Nullable;
 
 import tools.jackson.databind.ObjectMapper;
 
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Objects;
 
 @SuppressWarnings("unused")
 public class AuthToken implements Serializable {
 
+    // Constants
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     // Attributes
     private final Integer id;
+    private final @Nullable String login;
     private final String accessToken;
     private final String refreshToken;
-    private final HashSet<Scope> scopes;
-    private final Integer expiresIn;
+    private final long[] scopeMask;
+    private final int expiresIn;
     private final Timestamp timestamp;
     private final Timestamp nextRefresh;
 
-    // Constructor
-    public AuthToken(String responseBody, TwitchHelix helix, TokenHandler tokenHandler) {
+    // Constructor, user is known from the refreshed token or from token validation
+    public AuthToken(String responseBody, Integer id, @Nullable String login) {
 
         // Init Timestamp
         timestamp = new Timestamp(System.currentTimeMillis());
 
         // Validate input
         if (responseBody == null || responseBody.isBlank()) throw new IllegalArgumentException("Response body cannot be null or empty");
+        if (id == null || id < 1) throw new IllegalArgumentException("ID cannot be null or less than 1");
+
+        // Set user
+        this.id = id;
+        this.login = login;
 
         // Parse JSON
-        var response = new ObjectMapper().readTree(responseBody);
+        var response = MAPPER.readTree(responseBody);
 
         // Validate JSON
         if (!response.has("access_token") || response.get("access_token").isNull() || !response.get("access_token").isString()) throw new IllegalArgumentException("Response body does not contain access_token");
@@ -53,54 +67,69 @@ public class AuthToken implements Serializable {
         if (expiresIn < 1) throw new IllegalArgumentException("Expires in must be greater than 0");
 
         // Parse scopes
-        scopes = new HashSet<>();
+        var scopes = EnumSet.noneOf(Scope.class);
         if (response.has("scope") && !response.get("scope").isNull() && response.get("scope").isArray() && !response.get("scope").isEmpty()) {
             var scopeArray = response.get("scope");
             for (var scope : scopeArray) scopes.add(Scope.getScope(scope.asString()));
         }
-
-        // Get user ID
-        id = Integer.parseInt(helix.getUsers(accessToken, null, null).execute().getUsers().getFirst().getId());
+        scopeMask = Scope.toMask(scopes);
 
         // Calculate next refresh time
         nextRefresh = new Timestamp(timestamp.getTime() + (expiresIn * 1000L));
+    }
 
-        // Set next refresh
-        new Thread(() -> {
+    // Previous constructor, the user is looked up with the new access token and TokenHandler schedules refreshes of the tokens it manages
+    @Deprecated
+    public AuthToken(String responseBody, TwitchHelix helix, TokenHandler tokenHandler) {
+        this(responseBody, lookup(responseBody, helix));
+    }
 
-            // Sleep until the token expires
-            try {
-                var sleepTime = getNextRefresh().getTime() - System.currentTimeMillis();
-                if (sleepTime > 1000) Thread.sleep(sleepTime);
-            } catch (InterruptedException e) {
-                throw new RuntimeException("Token refresh thread interrupted: " + e.getMessage(), e);
-            }
+    private AuthToken(String responseBody, User user) {
+        this(responseBody, Integer.parseInt(user.getId()), user.getLogin());
+    }
 
-            // Refresh the token
-            tokenHandler.refreshToken(this);
+    // Previous constructor for refreshing a token, TokenHandler uses the stored refresh token of the ID
+    @Deprecated
+    public AuthToken(Integer id, String refreshToken, TokenHandler tokenHandler) {
+        this(id, null, null, refreshToken, null, null);
+        if (tokenHandler == null) throw new IllegalArgumentException("TokenHandler cannot be null");
+        tokenHandler.refreshToken(this);
+    }
 
-        }).start();
+    private static User lookup(String responseBody, TwitchHelix helix) {
+        if (responseBody == null || responseBody.isBlank()) throw new IllegalArgumentException("Response body cannot be null or empty");
+        if (helix == null) throw new IllegalArgumentException("TwitchHelix cannot be null");
+        var response = MAPPER.readTree(responseBody);
+        if (!response.has("access_token") || !response.get("access_token").isString()) throw new IllegalArgumentException("Response body does not contain access_token");
+        return helix.getUsers(response.get("access_token").asString(), null, null).execute().getUsers().getFirst();
     }
 
-    // Secondary constructor for refreshing token
-    public AuthToken(Integer id, String refreshToken, TokenHandler tokenHandler) {
+    // Constructor for stored tokens, expires in is the remaining lifetime and 0 if the expiry is unknown
+    public AuthToken(Integer id, @Nullable String login, String accessToken, String refreshToken, long[] scopeMask, Timestamp expiresAt) {
 
         // Validate input
         if (id == null || id < 1) throw new IllegalArgumentException("ID cannot be null or less than 1");
         if (refreshToken == null || refreshToken.isBlank()) throw new IllegalArgumentException("Refresh token cannot be null or empty");
-        if (tokenHandler == null) throw new IllegalArgumentException("TokenHandler cannot be null");
 
         // Set attributes
         this.id = id;
-        this.accessToken = null;
+        this.login = login;
+        this.accessToken = accessToken;
         this.refreshToken = refreshToken;
-        this.scopes = null;
-        this.expiresIn = null;
-        this.timestamp = null;
-        this.nextRefresh = null;
+        this.scopeMask = scopeMask == null ? new long[Scope.MASK_LENGTH] : scopeMask.clone();
+        this.timestamp = new Timestamp(System.currentTimeMillis());
+        this.expiresIn = expiresAt == null ? 0 : (int) Math.max(0, (expiresAt.getTime() - timestamp.getTime()) / 1000);
+        this.nextRefresh = expiresAt;
+    }
 
-        // Refresh the token
-        tokenHandler.refreshToken(this);
+    // Copy with the scopes and expiry reported by token validation
+    public AuthToken withValidation(long[] scopeMask, Timestamp expiresAt) {
+        return new AuthToken(id, login, accessToken, refreshToken, scopeMask, expiresAt);
+    }
+
+    // Check if the access token can still be used for the given time
+    public boolean isValid(Duration margin) {
+        return accessToken != null && nextRefresh != null && nextRefresh.getTime() - System.currentTimeMillis() > margin.toMillis();
     }
 
     // Getters
@@ -108,6 +137,10 @@ public class AuthToken implements Serializable {
         return id;
     }
 
+    public @Nullable String getLogin() {
+        return login;
+    }
+
     public String getAccessToken() {
         return accessToken;
     }
@@ -117,11 +150,26 @@ public class AuthToken implements Serializable {
     }
 
     public HashSet<Scope> getScopes() {
-        return scopes;
+        return new HashSet<>(Scope.fromMask(scopeMask));
+    }
+
+    public long[] getScopeMask() {
+        return scopeMask.clone();
+    }
+
+    // Scope checks on the bitmask
+    public boolean hasScope(Scope scope) {
+        return scope.isIn(scopeMask);
     }
 
     public boolean hasScope(Scope... scopes) {
-        return Arrays.stream(scopes).allMatch(this.scopes::contains);
+        for (var scope : scopes) if (!scope.isIn(scopeMask)) return false;
+        return true;
+    }
+
+    public boolean hasAnyScope(Scope... scopes) {
+        for (var scope : scopes) if (scope.isIn(scopeMask)) return true;
+        return false;
     }
 
     public int getExpiresIn() {
@@ -138,7 +186,7 @@ public class AuthToken implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, accessToken, refreshToken, scopes, expiresIn, timestamp, nextRefresh);
+        return Objects.hash(id, accessToken, refreshToken, Arrays.hashCode(scopeMask), expiresIn, timestamp, nextRefresh);
     }
 
     @Override
@@ -45,20 +45,39 @@ public class TwitchUser implements Serializable {
 
     public TwitchUser(TwitchUser user) {
 
+        // Attributes (getters, so references get resolved)
+        id = user.getId();                              // User ID
+        username = user.getUsername();                  // Username (lowercase)
+        createdAt = user.getCreatedAt();                // Created at
+
+        // Custom Attributes
+        displayName = user.getDisplayName();            // Display name (upper and lowercase)
+        description = user.getDescription();            // Description
+        profileImageUrl = user.getProfileImageUrl();    // Profile image URL
+        offlineImageUrl = user.getOfflineImageUrl();    // Offline image URL
+
+        // Set enums
+        broadcasterType = user.getBroadcasterType();    // Broadcaster type
+        type = user.getType();                          // User type
+    }
+
+    // Constructor for references, profile fields stay empty
+    protected TwitchUser(Integer id, String username) {
+
         // Attributes
-        id = user.id;                                   // User ID
-        username = user.username;                       // Username (lowercase)
-        createdAt = user.createdAt;                     // Created at
+        this.id = id;                                                       // User ID
+        this.username = username == null ? null : username.toLowerCase();  // Username (lowercase)
+        createdAt = null;                                                   // Created at
 
         // Custom Attributes
-        displayName = user.displayName;                 // Display name (upper and lowercase)
-        description = user.description;                 // Description
-        profileImageUrl = user.profileImageUrl;         // Profile image URL
-        offlineImageUrl = user.offlineImageUrl;         // Offline image URL
+        displayName = null;
+        description = null;
+        profileImageUrl = null;
+        offlineImageUrl = null;
 
         // Set enums
-        broadcasterType = user.broadcasterType;         // Broadcaster type
-        type = user.type;                               // User type
+        broadcasterType = null;
+        type = null;
     }
 
     // Getters
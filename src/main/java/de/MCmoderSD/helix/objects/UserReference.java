@@ -0,0 +1,117 @@
+package de.MCmoderSD.helix.objects;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+// TwitchUser handle that only knows its ID or login and loads the profile on first access
+@SuppressWarnings("unused")
+public class UserReference extends TwitchUser implements Serializable {
+
+    // Associations
+    private transient Supplier<TwitchUser> resolver;
+
+    // Attributes
+    private volatile TwitchUser resolved;
+
+    // Constructor
+    public UserReference(Integer id, Supplier<TwitchUser> resolver) {
+
+        // Call super constructor
+        super(id, null);
+
+        // Check Parameters
+        if (id == null || id < 1) throw new IllegalArgumentException("ID cannot be null or less than 1");
+        if (resolver == null) throw new IllegalArgumentException("Resolver cannot be null");
+
+        // Set Associations
+        this.resolver = resolver;
+    }
+
+    public UserReference(String username, Supplier<TwitchUser> resolver) {
+
+        // Call super constructor
+        super(null, username);
+
+        // Check Parameters
+        if (username == null || username.isBlank() || username.contains(" ")) throw new IllegalArgumentException("Invalid username: " + username);
+        if (resolver == null) throw new IllegalArgumentException("Resolver cannot be null");
+
+        // Set Associations
+        this.resolver = resolver;
+    }
+
+    // Load the full user once
+    public TwitchUser resolve() {
+        var user = resolved;
+        if (user != null) return user;
+        synchronized (this) {
+            if (resolved != null) return resolved;
+            if (resolver == null) throw new IllegalStateException("UserReference cannot be resolved after deserialization");
+            resolved = Objects.requireNonNull(resolver.get(), "Resolver returned null");
+            resolver = null;
+            return resolved;
+        }
+    }
+
+    public boolean isResolved() {
+        return resolved != null;
+    }
+
+    // Getters
+    @Override
+    public Integer getId() {
+        return id != null ? id : resolve().getId();
+    }
+
+    @Override
+    public String getUsername() {
+        return username != null ? username : resolve().getUsername();
+    }
+
+    @Override
+    public Instant getCreatedAt() {
+        return resolve().getCreatedAt();
+    }
+
+    @Override
+    public String getDisplayName() {
+        return resolve().getDisplayName();
+    }
+
+    @Override
+    public String getDescription() {
+        return resolve().getDescription();
+    }
+
+    @Override
+    public String getProfileImageUrl() {
+        return resolve().getProfileImageUrl();
+    }
+
+    @Override
+    public String getOfflineImageUrl() {
+        return resolve().getOfflineImageUrl();
+    }
+
+    @Override
+    public BroadcasterType getBroadcasterType() {
+        return resolve().getBroadcasterType();
+    }
+
+    @Override
+    public Type getType() {
+        return resolve().getType();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj != null && obj.getClass() == getClass() && getId().equals(((UserReference) obj).getId());
+    }
+}
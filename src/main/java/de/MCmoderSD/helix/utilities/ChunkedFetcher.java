@@ -0,0 +1,131 @@
+package de.MCmoderSD.helix.utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+@SuppressWarnings("unused")
+public class ChunkedFetcher {
+
+    // Constants
+    public static final int DEFAULT_PARALLELISM = 8;    // Max chunks in flight per call
+
+    // Executor
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Split input into chunks once, chunks are views on a single copy
+    public static <T> ArrayList<List<T>> partition(Collection<T> input, int chunkSize) {
+
+        // Check Parameters
+        if (input == null) throw new IllegalArgumentException("Input cannot be null");
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be greater than 0");
+
+        // Partition
+        var items = new ArrayList<>(input);
+        var size = items.size();
+        var chunks = new ArrayList<List<T>>((size + chunkSize - 1) / chunkSize);
+        for (var i = 0; i < size; i += chunkSize) chunks.add(items.subList(i, Math.min(i + chunkSize, size)));
+
+        // Return chunks
+        return chunks;
+    }
+
+    // Split primitive input into chunks once
+    public static ArrayList<int[]> partition(int[] input, int chunkSize) {
+
+        // Check Parameters
+        if (input == null) throw new IllegalArgumentException("Input cannot be null");
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be greater than 0");
+
+        // Partition
+        var size = input.length;
+        var chunks = new ArrayList<int[]>((size + chunkSize - 1) / chunkSize);
+        for (var i = 0; i < size; i += chunkSize) chunks.add(Arrays.copyOfRange(input, i, Math.min(i + chunkSize, size)));
+
+        // Return chunks
+        return chunks;
+    }
+
+    // Fetch all chunks with at most parallelism requests in flight
+    public static <T, R> ArrayList<R> fetch(Collection<T> input, int chunkSize, int parallelism, Function<List<T>, Collection<R>> request) {
+
+        // Check Parameters
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be greater than 0");
+        if (request == null) throw new IllegalArgumentException("Request cannot be null");
+
+        // Partition and run
+        return run(partition(input, chunkSize), input.size(), parallelism, request);
+    }
+
+    public static <R> ArrayList<R> fetch(int[] input, int chunkSize, int parallelism, Function<int[], Collection<R>> request) {
+
+        // Check Parameters
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be greater than 0");
+        if (request == null) throw new IllegalArgumentException("Request cannot be null");
+
+        // Partition and run
+        return run(partition(input, chunkSize), input.length, parallelism, request);
+    }
+
+    private static <C, R> ArrayList<R> run(ArrayList<C> chunks, int expectedSize, int parallelism, Function<C, Collection<R>> request) {
+
+        // Check Chunks
+        var results = new ArrayList<R>(expectedSize);
+        if (chunks.isEmpty()) return results;
+
+        // Single chunk, no need to leave the calling thread
+        if (chunks.size() == 1) {
+            results.addAll(request.apply(chunks.getFirst()));
+            return results;
+        }
+
+        // Run chunks
+        var permits = new Semaphore(Math.min(parallelism, chunks.size()));
+        var futures = new ArrayList<CompletableFuture<Collection<R>>>(chunks.size());
+        for (var chunk : chunks) futures.add(CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                return request.apply(chunk);
+            } finally {
+                permits.release();
+            }
+        }, EXECUTOR));
+
+        // Merge results
+        for (var future : futures) {
+            try {
+                results.addAll(future.join());
+            } catch (CompletionException e) {
+                futures.forEach(pending -> pending.cancel(false));
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+
+        // Return results
+        return results;
+    }
+
+    // Fetch all chunks and index the results into a presized map
+    public static <T, K, R> HashMap<K, R> fetchMap(Collection<T> input, int chunkSize, int parallelism, Function<List<T>, Collection<R>> request, Function<R, K> key) {
+
+        // Check Parameters
+        if (key == null) throw new IllegalArgumentException("Key cannot be null");
+
+        // Fetch and index
+        var results = fetch(input, chunkSize, parallelism, request);
+        HashMap<K, R> map = HashMap.newHashMap(results.size());
+        for (var result : results) map.put(key.apply(result), result);
+
+        // Return map
+        return map;
+    }
+}
@@ -2,6 +2,10 @@ package de.MCmoderSD.helix.utilities;
 
 import tools.jackson.databind.JsonNode;
 
+import de.MCmoderSD.helix.enums.Role;
+
+import java.util.List;
+
 @SuppressWarnings({"BooleanMethodIsAlwaysInverted", "SameReturnValue"})
 public class ConfigValidator {
 
@@ -31,6 +35,37 @@ public class ConfigValidator {
         if (oAuthRedirectURL.endsWith("/")) throw new IllegalArgumentException("Application config 'oAuthRedirectURL' must not end with '/'");
         if (!oAuthRedirectURL.startsWith("http")) throw new IllegalArgumentException("Application config 'oAuthRedirectURL' is not a valid URL");
 
+        // Check optional token settings
+        if (application.has("tokens")) {
+            var tokens = application.get("tokens");
+            if (!tokens.isObject()) throw new IllegalArgumentException("Application config 'tokens' is not an object");
+            if (tokens.has("baseUrl") && (!tokens.get("baseUrl").isString() || !tokens.get("baseUrl").asString().startsWith("http"))) throw new IllegalArgumentException("Tokens config 'baseUrl' is not a valid URL");
+            if (tokens.has("connectTimeout") && (!tokens.get("connectTimeout").isInt() || tokens.get("connectTimeout").asInt() < 1)) throw new IllegalArgumentException("Tokens config 'connectTimeout' must be a positive number of seconds");
+            if (tokens.has("readTimeout") && (!tokens.get("readTimeout").isInt() || tokens.get("readTimeout").asInt() < 1)) throw new IllegalArgumentException("Tokens config 'readTimeout' must be a positive number of seconds");
+            if (tokens.has("refreshLeadTime") && (!tokens.get("refreshLeadTime").isInt() || tokens.get("refreshLeadTime").asInt() < 0)) throw new IllegalArgumentException("Tokens config 'refreshLeadTime' must be a non-negative number of seconds");
+            if (tokens.has("refreshJitter") && (!tokens.get("refreshJitter").isInt() || tokens.get("refreshJitter").asInt() < 0)) throw new IllegalArgumentException("Tokens config 'refreshJitter' must be a non-negative number of seconds");
+            if (tokens.has("hydrationParallelism") && (!tokens.get("hydrationParallelism").isInt() || tokens.get("hydrationParallelism").asInt() < 1)) throw new IllegalArgumentException("Tokens config 'hydrationParallelism' must be greater than 0");
+            if (tokens.has("callbackConcurrency") && (!tokens.get("callbackConcurrency").isInt() || tokens.get("callbackConcurrency").asInt() < 1)) throw new IllegalArgumentException("Tokens config 'callbackConcurrency' must be greater than 0");
+            if (tokens.has("nodeId") && (!tokens.get("nodeId").isString() || tokens.get("nodeId").asString().isBlank() || tokens.get("nodeId").asString().length() > 64)) throw new IllegalArgumentException("Tokens config 'nodeId' must be a non-empty string of at most 64 characters");
+            if (tokens.has("leaseDuration") && (!tokens.get("leaseDuration").isInt() || tokens.get("leaseDuration").asInt() < 1)) throw new IllegalArgumentException("Tokens config 'leaseDuration' must be a positive number of seconds");
+            if (tokens.has("lazy") && !tokens.get("lazy").isBoolean()) throw new IllegalArgumentException("Tokens config 'lazy' must be a boolean");
+            if (tokens.has("idleTimeout") && (!tokens.get("idleTimeout").isInt() || tokens.get("idleTimeout").asInt() < 1)) throw new IllegalArgumentException("Tokens config 'idleTimeout' must be a positive number of seconds");
+            if (tokens.has("missingTtl") && (!tokens.get("missingTtl").isInt() || tokens.get("missingTtl").asInt() < 1)) throw new IllegalArgumentException("Tokens config 'missingTtl' must be a positive number of seconds");
+            if (tokens.has("hydrationDeadline") && (!tokens.get("hydrationDeadline").isInt() || tokens.get("hydrationDeadline").asInt() < 1)) throw new IllegalArgumentException("Tokens config 'hydrationDeadline' must be a positive number of seconds");
+        }
+
+        // Check optional role cache settings
+        if (application.has("roles")) {
+            var roles = application.get("roles");
+            if (!roles.isObject()) throw new IllegalArgumentException("Application config 'roles' is not an object");
+            if (roles.has("cacheBudget") && (!roles.get("cacheBudget").isIntegralNumber() || roles.get("cacheBudget").asLong() < 1)) throw new IllegalArgumentException("Roles config 'cacheBudget' must be greater than 0");
+            if (roles.has("refreshInterval") && (!roles.get("refreshInterval").isInt() || roles.get("refreshInterval").asInt() < 1)) throw new IllegalArgumentException("Roles config 'refreshInterval' must be a positive number of seconds");
+            for (var role : Role.values()) {
+                var key = role.getName() + "Ttl";
+                if (roles.has(key) && (!roles.get(key).isInt() || roles.get(key).asInt() < 1)) throw new IllegalArgumentException("Roles config '" + key + "' must be a positive number of seconds");
+            }
+        }
+
         return true;
     }
 
@@ -38,6 +73,14 @@ public class ConfigValidator {
 
         // Check if database config is valid
         if (database == null) throw new IllegalArgumentException("Database config is null");
+        if (database.has("type") && (!database.get("type").isString() || !List.of("mariadb", "file").contains(database.get("type").asString()))) throw new IllegalArgumentException("Database config 'type' must be 'mariadb' or 'file'");
+
+        // Check file store config
+        if (isFileStore(database)) {
+            if (!database.has("path") || database.get("path").isNull() || !database.get("path").isString() || database.get("path").asString().isBlank()) throw new IllegalArgumentException("Database config is missing 'path'");
+            return true;
+        }
+
         if (!database.has("host") || database.get("host").isNull() || !database.get("host").isString()) throw new IllegalArgumentException("Database config is missing 'host'");
         if (!database.has("port") || database.get("port").isNull() || !database.get("port").isInt()) throw new IllegalArgumentException("Database config is missing 'port'");
         if (!database.has("database") || database.get("database").isNull() || !database.get("database").isString()) throw new IllegalArgumentException("Database config is missing 'database'");
@@ -60,6 +103,14 @@ public class ConfigValidator {
         var port = database.get("port").asInt();
         if (port <= 0 || port > 65535) throw new IllegalArgumentException("Database config 'port' is not a valid port number");
 
+        // Check optional user directory staleness
+        if (database.has("userStaleness") && (!database.get("userStaleness").isInt() || database.get("userStaleness").asInt() < 1)) throw new IllegalArgumentException("Database config 'userStaleness' must be a positive number of days");
+
         return true;
     }
-}
\ No newline at end of file
+
+    // Tokens are kept in a local file instead of MariaDB
+    public static boolean isFileStore(JsonNode database) {
+        return database != null && database.has("type") && "file".equals(database.get("type").asString());
+    }
+}
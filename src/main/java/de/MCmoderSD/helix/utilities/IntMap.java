@@ -0,0 +1,184 @@
+package de.MCmoderSD.helix.utilities;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// Open addressing map with primitive int keys, used for bulk ID lookups without boxing
+@SuppressWarnings({"unused", "unchecked"})
+public class IntMap<V> {
+
+    // Constants
+    private static final int EMPTY = 0;             // Twitch IDs are always positive
+    private static final float LOAD_FACTOR = 0.5f;  // Keep probe chains short
+
+    // Attributes
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    // Constructor
+    public IntMap() {
+        this(16);
+    }
+
+    public IntMap(int expectedSize) {
+
+        // Check Parameters
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative");
+
+        // Allocate tables
+        var capacity = tableSize(expectedSize);
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    // Smallest power of two that keeps the load factor
+    private static int tableSize(int expectedSize) {
+        var capacity = Integer.highestOneBit(Math.max(2, (int) Math.ceil(expectedSize / LOAD_FACTOR)) - 1) << 1;
+        return Math.max(capacity, 2);
+    }
+
+    // Spread bits so sequential IDs do not cluster
+    private static int hash(int key) {
+        var h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Slot of key or of the empty slot where it belongs
+    private int slot(int key) {
+        var index = hash(key) & mask;
+        while (keys[index] != EMPTY && keys[index] != key) index = (index + 1) & mask;
+        return index;
+    }
+
+    // Get value for key
+    public @Nullable V get(int key) {
+        if (key == EMPTY) return null;
+        return (V) values[slot(key)];
+    }
+
+    public boolean containsKey(int key) {
+        if (key == EMPTY) return false;
+        return keys[slot(key)] == key;
+    }
+
+    // Add or replace value, returns previous value
+    public @Nullable V put(int key, V value) {
+
+        // Check Parameters
+        if (key == EMPTY) throw new IllegalArgumentException("Key cannot be " + EMPTY);
+        if (value == null) throw new IllegalArgumentException("Value cannot be null");
+
+        // Replace existing
+        var index = slot(key);
+        if (keys[index] == key) {
+            var previous = (V) values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        // Insert new
+        keys[index] = key;
+        values[index] = value;
+        if (++size > keys.length * LOAD_FACTOR) resize(keys.length << 1);
+        return null;
+    }
+
+    public void putAll(IntMap<? extends V> map) {
+        map.forEach(this::put);
+    }
+
+    // Remove key, returns previous value
+    public @Nullable V remove(int key) {
+
+        // Find key
+        if (key == EMPTY) return null;
+        var index = slot(key);
+        if (keys[index] != key) return null;
+
+        // Remove entry
+        var previous = (V) values[index];
+        keys[index] = EMPTY;
+        values[index] = null;
+        size--;
+
+        // Reinsert following entries of the probe chain
+        var next = (index + 1) & mask;
+        while (keys[next] != EMPTY) {
+            var movedKey = keys[next];
+            var movedValue = values[next];
+            keys[next] = EMPTY;
+            values[next] = null;
+            var target = slot(movedKey);
+            keys[target] = movedKey;
+            values[target] = movedValue;
+            next = (next + 1) & mask;
+        }
+
+        // Return previous value
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+
+        // Keep old tables
+        var oldKeys = keys;
+        var oldValues = values;
+
+        // Allocate new tables
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+
+        // Rehash entries
+        for (var i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+            var index = slot(oldKeys[i]);
+            keys[index] = oldKeys[i];
+            values[index] = oldValues[i];
+        }
+    }
+
+    // Iterate entries
+    public void forEach(IntEntryConsumer<? super V> consumer) {
+        for (var i = 0; i < keys.length; i++) if (keys[i] != EMPTY) consumer.accept(keys[i], (V) values[i]);
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int[] keys() {
+        var result = new int[size];
+        var index = 0;
+        for (var key : keys) if (key != EMPTY) result[index++] = key;
+        return result;
+    }
+
+    public ArrayList<V> values() {
+        var result = new ArrayList<V>(size);
+        for (var i = 0; i < keys.length; i++) if (keys[i] != EMPTY) result.add((V) values[i]);
+        return result;
+    }
+
+    // Entry consumer without boxing
+    @FunctionalInterface
+    public interface IntEntryConsumer<V> {
+        void accept(int key, V value);
+    }
+}
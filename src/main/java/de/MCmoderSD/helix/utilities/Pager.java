@@ -0,0 +1,207 @@
+package de.MCmoderSD.helix.utilities;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Cursor driven pagination, pages are requested one at a time while the entries are consumed
+@SuppressWarnings("unused")
+public class Pager<T> implements Iterable<T>, Flow.Publisher<T> {
+
+    // Constants
+    public static final int DEFAULT_PREFETCH = 2;   // Pages resolved while the next cursor is requested
+
+    // Executor
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Attributes
+    private final Supplier<Iterator<T>> iterators;
+
+    // Constructor
+    public Pager(Function<@Nullable String, Page<T>> fetch) {
+        if (fetch == null) throw new IllegalArgumentException("Fetch function cannot be null");
+        iterators = () -> new PageIterator<>(fetch);
+    }
+
+    private Pager(Supplier<Iterator<T>> iterators) {
+        this.iterators = iterators;
+    }
+
+    // Pipelined pager, the next page is requested while earlier pages are still being resolved
+    public static <R, T> Pager<T> pipelined(Function<@Nullable String, Page<R>> fetch, Function<List<R>, List<T>> resolve, int prefetch) {
+        if (fetch == null) throw new IllegalArgumentException("Fetch function cannot be null");
+        if (resolve == null) throw new IllegalArgumentException("Resolve function cannot be null");
+        if (prefetch < 1) throw new IllegalArgumentException("Prefetch must be greater than 0");
+        return new Pager<>(() -> new PipelinedIterator<>(fetch, resolve, prefetch));
+    }
+
+    public static <R, T> Pager<T> pipelined(Function<@Nullable String, Page<R>> fetch, Function<List<R>, List<T>> resolve) {
+        return pipelined(fetch, resolve, DEFAULT_PREFETCH);
+    }
+
+    // Lazy iterator, the next page is requested once the current one is consumed
+    @Override
+    public Iterator<T> iterator() {
+        return iterators.get();
+    }
+
+    // Sequential stream, closing it early stops further requests
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // Cold publisher, every subscriber runs its own pagination with backpressure
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+
+        // Check Parameters
+        if (subscriber == null) throw new IllegalArgumentException("Subscriber cannot be null");
+
+        // Subscribe before the first entry is submitted
+        var publisher = new SubmissionPublisher<T>(EXECUTOR, Flow.defaultBufferSize());
+        publisher.subscribe(subscriber);
+
+        // Submit blocks while the buffer is full, stops once the subscription is cancelled
+        EXECUTOR.execute(() -> {
+            try {
+                var iterator = iterator();
+                while (publisher.hasSubscribers() && iterator.hasNext()) publisher.submit(iterator.next());
+                publisher.close();
+            } catch (RuntimeException e) {
+                publisher.closeExceptionally(e);
+            }
+        });
+    }
+
+    // Requests one page at a time
+    private static class PageIterator<T> implements Iterator<T> {
+
+        // Attributes
+        private final Function<@Nullable String, Page<T>> fetch;
+        private Iterator<T> page = null;
+        private @Nullable String cursor = null;
+        private boolean last = false;
+
+        // Constructor
+        private PageIterator(Function<@Nullable String, Page<T>> fetch) {
+            this.fetch = fetch;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (page == null || !page.hasNext()) {
+                if (last) return false;
+                var next = fetch.apply(cursor);
+                if (next == null) throw new IllegalStateException("Failed to get page");
+                page = next.items.iterator();
+                cursor = next.cursor;
+                last = cursor == null;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return page.next();
+        }
+    }
+
+    // Keeps up to prefetch pages resolving in the background while the cursor chain is followed
+    private static class PipelinedIterator<R, T> implements Iterator<T> {
+
+        // Attributes
+        private final Function<@Nullable String, Page<R>> fetch;
+        private final Function<List<R>, List<T>> resolve;
+        private final int prefetch;
+        private final ArrayDeque<CompletableFuture<List<T>>> pending;
+        private Iterator<T> page = null;
+        private @Nullable String cursor = null;
+        private boolean last = false;
+
+        // Constructor
+        private PipelinedIterator(Function<@Nullable String, Page<R>> fetch, Function<List<R>, List<T>> resolve, int prefetch) {
+            this.fetch = fetch;
+            this.resolve = resolve;
+            this.prefetch = prefetch;
+            pending = new ArrayDeque<>(prefetch);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (page == null || !page.hasNext()) {
+
+                // Fill the window, requesting a page only waits for its cursor
+                while (!last && pending.size() < prefetch) {
+                    var next = fetch.apply(cursor);
+                    if (next == null) throw new IllegalStateException("Failed to get page");
+                    var items = next.items;
+                    pending.add(items.isEmpty() ? CompletableFuture.completedFuture(List.of()) : CompletableFuture.supplyAsync(() -> resolve.apply(items), EXECUTOR));
+                    cursor = next.cursor;
+                    last = cursor == null;
+                }
+
+                // Take the oldest page in order
+                var future = pending.poll();
+                if (future == null) return false;
+                page = join(future).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return page.next();
+        }
+
+        // Wait for page and unwrap its exception
+        private static <T> T join(CompletableFuture<T> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+    }
+
+    // One page of entries and the cursor of the next page
+    public static class Page<T> {
+
+        // Attributes
+        private final List<T> items;
+        private final @Nullable String cursor;
+
+        // Constructor
+        public Page(List<T> items, @Nullable String cursor) {
+            if (items == null) throw new IllegalArgumentException("Items cannot be null");
+            this.items = items;
+            this.cursor = cursor == null || cursor.isBlank() ? null : cursor;
+        }
+
+        // Getter
+        public List<T> getItems() {
+            return items;
+        }
+
+        public @Nullable String getCursor() {
+            return cursor;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package de.MCmoderSD.helix.utilities;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+// Resolves batches in the background while the caller reads the next page, at most window batches in flight
+@SuppressWarnings("unused")
+public class Prefetcher<K, V> {
+
+    // Executor
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Attributes
+    private final Function<HashSet<K>, ? extends Map<K, V>> resolve;
+    private final int window;
+    private final ArrayDeque<CompletableFuture<? extends Map<K, V>>> pending;
+    private final HashMap<K, V> resolved;
+
+    // Constructor
+    public Prefetcher(Function<HashSet<K>, ? extends Map<K, V>> resolve, int window) {
+
+        // Check Parameters
+        if (resolve == null) throw new IllegalArgumentException("Resolve function cannot be null");
+        if (window < 1) throw new IllegalArgumentException("Window must be greater than 0");
+
+        // Set Attributes
+        this.resolve = resolve;
+        this.window = window;
+        pending = new ArrayDeque<>(window);
+        resolved = new HashMap<>();
+    }
+
+    // Start resolving a batch, waits for the oldest batch if the window is full
+    public void submit(HashSet<K> keys) {
+        if (keys == null || keys.isEmpty()) return;
+        if (pending.size() >= window) resolved.putAll(join(pending.poll()));
+        pending.add(CompletableFuture.supplyAsync(() -> resolve.apply(keys), EXECUTOR));
+    }
+
+    // Wait for all batches
+    public HashMap<K, V> join() {
+        while (!pending.isEmpty()) resolved.putAll(join(pending.poll()));
+        return resolved;
+    }
+
+    // Wait for batch and unwrap its exception
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package de.MCmoderSD.helix.utilities;
+
+import de.MCmoderSD.helix.objects.TwitchUser;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+// Exact delta between a cached role set and the entries read page by page from Helix
+@SuppressWarnings("unused")
+public class RoleDiff<E, T extends TwitchUser> {
+
+    // Attributes
+    private final HashMap<Integer, T> cached;       // User ID -> cached entry
+    private final HashSet<Integer> seen;            // User IDs read so far
+    private final ArrayList<E> added;               // New users
+    private final ArrayList<E> changed;             // Known users whose entry differs
+    private final Function<E, Integer> userId;
+    private final BiPredicate<E, T> matches;
+
+    // Constructor
+    public RoleDiff(@Nullable Collection<T> cached, Function<E, Integer> userId, BiPredicate<E, T> matches) {
+
+        // Check Parameters
+        if (userId == null) throw new IllegalArgumentException("User ID function cannot be null");
+        if (matches == null) throw new IllegalArgumentException("Matches predicate cannot be null");
+
+        // Set Attributes
+        this.cached = HashMap.newHashMap(cached == null ? 0 : cached.size());
+        if (cached != null) for (var entry : cached) this.cached.put(entry.getId(), entry);
+        this.userId = userId;
+        this.matches = matches;
+        seen = new HashSet<>();
+        added = new ArrayList<>();
+        changed = new ArrayList<>();
+    }
+
+    // Compare a page against the cached set, returns the IDs of new users on this page
+    public HashSet<Integer> add(Collection<E> page) {
+        var addedIds = new HashSet<Integer>();
+        for (var entry : page) {
+            var id = userId.apply(entry);
+            if (!seen.add(id)) continue; // Duplicate across pages
+            var previous = cached.get(id);
+            if (previous == null) {
+                added.add(entry);
+                addedIds.add(id);
+            } else if (!matches.test(entry, previous)) changed.add(entry);
+        }
+        return addedIds;
+    }
+
+    // Nothing was added, changed or removed
+    public boolean isUnchanged() {
+        return added.isEmpty() && changed.isEmpty() && seen.size() == cached.size();
+    }
+
+    // New cached set, unchanged entries are kept and the delta is patched in
+    public HashSet<T> apply(Collection<T> patched) {
+        return apply(patched, HashSet::newHashSet);
+    }
+
+    // Same as above into a set created for the expected size
+    public <S extends HashSet<T>> S apply(Collection<T> patched, IntFunction<S> factory) {
+        var result = factory.apply(seen.size());
+        var replaced = new HashSet<Integer>();
+        for (var entry : patched) replaced.add(entry.getId());
+        for (var entry : cached.values()) if (seen.contains(entry.getId()) && !replaced.contains(entry.getId())) result.add(entry);
+        result.addAll(patched);
+        return result;
+    }
+
+    // Getter
+    public ArrayList<E> getAdded() {
+        return added;
+    }
+
+    public ArrayList<E> getChanged() {
+        return changed;
+    }
+
+    public @Nullable T getCached(Integer id) {
+        return cached.get(id);
+    }
+}
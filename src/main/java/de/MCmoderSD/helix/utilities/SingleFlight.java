@@ -0,0 +1,79 @@
+package de.MCmoderSD.helix.utilities;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+// Concurrent calls with the same key share the result of the first caller
+// Calls are not re-entrant, a supplier calling execute with its own key fails instead of waiting on itself
+@SuppressWarnings({"unused", "unchecked"})
+public class SingleFlight {
+
+    // Attributes
+    private final ConcurrentHashMap<String, Call> calls;
+
+    // Constructor
+    public SingleFlight() {
+        calls = new ConcurrentHashMap<>();
+    }
+
+    // Run supplier once per key while a call with that key is in flight, all callers get the same result
+    public <T> T execute(String key, Supplier<T> supplier) {
+
+        // Check Parameters
+        if (key == null || key.isBlank()) throw new IllegalArgumentException("Key cannot be null or blank");
+        if (supplier == null) throw new IllegalArgumentException("Supplier cannot be null");
+
+        // Join call in flight
+        var call = new Call();
+        var existing = calls.putIfAbsent(key, call);
+        if (existing != null) {
+            if (existing.leader == Thread.currentThread()) throw new IllegalStateException("Re-entrant call with key: " + key);
+            try {
+                return (T) existing.result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+
+        // Lead the call
+        try {
+            var result = supplier.get();
+            call.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    // Same as execute, but every caller gets its own copy of a mutable result
+    public <T> T execute(String key, Supplier<T> supplier, UnaryOperator<T> copy) {
+        if (copy == null) throw new IllegalArgumentException("Copy cannot be null");
+        return copy.apply(execute(key, supplier));
+    }
+
+    // Call in flight
+    private static class Call {
+
+        // Attributes
+        private final CompletableFuture<Object> result;
+        private final Thread leader;
+
+        // Constructor
+        private Call() {
+            result = new CompletableFuture<>();
+            leader = Thread.currentThread();
+        }
+    }
+
+    // Getter
+    public int getInFlightCount() {
+        return calls.size();
+    }
+}
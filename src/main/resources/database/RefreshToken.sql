@@ -1,8 +1,15 @@
 # RefreshToken Table Definition
 CREATE TABLE IF NOT EXISTS RefreshToken
 (
-    id      INT     PRIMARY KEY,                # User ID
-    token   TEXT    UNIQUE          NOT NULL    # Refresh Token (encrypted)
+    id              INT             PRIMARY KEY,                # User ID
+    token           TEXT            UNIQUE          NOT NULL,   # Refresh Token (encrypted)
+    login           VARCHAR(25)                     NULL,       # Username (lowercase)
+    access_token    TEXT                            NULL,       # Access Token (encrypted)
+    expires_at      TIMESTAMP                       NULL,       # Access Token Expiry
+    scopes          TEXT                            NULL,       # Granted Scopes (space separated)
+    lease_owner     VARCHAR(64)                     NULL,       # Node refreshing the token
+    lease_until     TIMESTAMP                       NULL,       # Refresh Lease Expiry
+    epoch           BIGINT          DEFAULT 0       NOT NULL    # Fencing Epoch, increased per lease
 )
-    ROW_FORMAT = COMPRESSED                     # Compressed Row Format
-    KEY_BLOCK_SIZE = 1                          # Key Block Size
\ No newline at end of file
+    ROW_FORMAT = COMPRESSED                                     # Compressed Row Format
+    KEY_BLOCK_SIZE = 1                                          # Key Block Size
@@ -0,0 +1,9 @@
+# RefreshToken Migration for tables created before access tokens were stored
+ALTER TABLE RefreshToken
+    ADD COLUMN IF NOT EXISTS login          VARCHAR(25)                 NULL,   # Username (lowercase)
+    ADD COLUMN IF NOT EXISTS access_token   TEXT                        NULL,   # Access Token (encrypted)
+    ADD COLUMN IF NOT EXISTS expires_at     TIMESTAMP                   NULL,   # Access Token Expiry
+    ADD COLUMN IF NOT EXISTS scopes         TEXT                        NULL,   # Granted Scopes (space separated)
+    ADD COLUMN IF NOT EXISTS lease_owner    VARCHAR(64)                 NULL,   # Node refreshing the token
+    ADD COLUMN IF NOT EXISTS lease_until    TIMESTAMP                   NULL,   # Refresh Lease Expiry
+    ADD COLUMN IF NOT EXISTS epoch          BIGINT      DEFAULT 0   NOT NULL    # Fencing Epoch, increased per lease
@@ -0,0 +1,18 @@
+# TwitchUser Table Definition
+CREATE TABLE IF NOT EXISTS TwitchUser
+(
+    id                  INT             PRIMARY KEY,                            # User ID
+    login               VARCHAR(25)     NOT NULL,                               # Username (lowercase)
+    display_name        VARCHAR(64)     NOT NULL,                               # Display Name
+    type                VARCHAR(16)     NOT NULL    DEFAULT '',                 # User Type
+    broadcaster_type    VARCHAR(16)     NOT NULL    DEFAULT '',                 # Broadcaster Type
+    description         TEXT            NOT NULL,                               # Description
+    profile_image_url   TEXT            NOT NULL,                               # Profile Image URL
+    offline_image_url   TEXT            NOT NULL,                               # Offline Image URL
+    created_at          TIMESTAMP       NULL,                                   # Account Creation
+    last_seen           TIMESTAMP       NOT NULL    DEFAULT CURRENT_TIMESTAMP,  # Last fetched from Helix
+    INDEX idx_login (login),                                                    # Lookup by Username
+    INDEX idx_last_seen (last_seen)                                             # Staleness Window
+)
+    ROW_FORMAT = COMPRESSED                                                     # Compressed Row Format
+    KEY_BLOCK_SIZE = 8                                                          # Key Block Size
@@ -0,0 +1,99 @@
+package de.MCmoderSD.helix.cache;
+
+import de.MCmoderSD.helix.enums.Role;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static de.MCmoderSD.helix.enums.Role.FOLLOWERS;
+import static de.MCmoderSD.helix.enums.Role.MODERATORS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleCacheTest {
+
+    @Test
+    void returnsUnmodifiableSets() {
+        var cache = new RoleCache((role, channel, cached) -> set(3));
+        var roles = cache.<Integer>get(MODERATORS, 1);
+        assertEquals(3, roles.size());
+        assertThrows(UnsupportedOperationException.class, () -> roles.add(4));
+        assertThrows(UnsupportedOperationException.class, () -> cache.<Integer>getIfPresent(MODERATORS, 1).clear());
+        assertThrows(UnsupportedOperationException.class, () -> cache.<Integer>asMap(MODERATORS).get(1).remove(1));
+    }
+
+    @Test
+    void keepsSetsLargerThanTheBudget() {
+        var loads = new AtomicInteger();
+        var cache = new RoleCache((role, channel, cached) -> {
+            loads.incrementAndGet();
+            return set(role == FOLLOWERS ? 100 : 2);
+        }, 10, Duration.ofMinutes(5), Map.of());
+
+        // Oversized set is served from the side cache instead of being loaded again
+        assertEquals(100, cache.get(FOLLOWERS, 1).size());
+        assertEquals(100, cache.get(FOLLOWERS, 1).size());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getOversizedCount());
+        assertEquals(100, cache.<Integer>asMap(FOLLOWERS).get(1).size());
+
+        // Small sets stay in the shared budget
+        assertEquals(2, cache.get(MODERATORS, 1).size());
+        assertEquals(1, cache.getOversizedCount());
+
+        // Invalidation covers both caches
+        cache.invalidate(FOLLOWERS, 1);
+        assertNull(cache.getIfPresent(FOLLOWERS, 1));
+        assertEquals(0, cache.getOversizedCount());
+        cache.get(FOLLOWERS, 1);
+        assertEquals(3, loads.get());   // Followers twice, moderators once
+    }
+
+    @Test
+    void reloadsOversizedSetsAgainstTheStaleSet() throws InterruptedException {
+        var reloaded = new CompletableFuture<HashSet<?>>();
+        var cache = new RoleCache((role, channel, cached) -> {
+            if (cached != null) reloaded.complete(cached);
+            return set(cached == null ? 100 : 101);
+        }, 10, Duration.ofMillis(50), Map.of());
+        var stale = cache.<Integer>get(FOLLOWERS, 1);
+        Thread.sleep(100);
+
+        // Read after the refresh interval reloads with the previous set instead of a full load
+        cache.get(FOLLOWERS, 1);
+        assertEquals(stale, assertTimeoutPreemptively(Duration.ofSeconds(5), () -> reloaded.get()));
+        while (cache.<Integer>get(FOLLOWERS, 1).size() != 101) Thread.sleep(10);
+        assertEquals(1, cache.getOversizedCount());
+    }
+
+    @Test
+    void shrunkOversizedSetMovesBackIntoTheBudget() throws InterruptedException {
+        var cache = new RoleCache((role, channel, cached) -> set(cached == null ? 100 : 5), 10, Duration.ofMillis(50), Map.of());
+        assertEquals(100, cache.get(FOLLOWERS, 1).size());
+        Thread.sleep(100);
+        cache.get(FOLLOWERS, 1);
+        while (cache.getOversizedCount() != 0) Thread.sleep(10);
+        assertEquals(5, cache.get(FOLLOWERS, 1).size());
+    }
+
+    @Test
+    void putMovesSetsBetweenCaches() {
+        var cache = new RoleCache((role, channel, cached) -> set(1), 10, Duration.ofMinutes(5), Map.of());
+        cache.put(Role.VIPS, 1, set(50));
+        assertEquals(50, cache.get(Role.VIPS, 1).size());
+        assertEquals(1, cache.getOversizedCount());
+        cache.put(Role.VIPS, 1, set(5));
+        assertEquals(5, cache.get(Role.VIPS, 1).size());
+        assertEquals(0, cache.getOversizedCount());
+    }
+
+    private static HashSet<Integer> set(int size) {
+        return IntStream.rangeClosed(1, size).boxed().collect(Collectors.toCollection(HashSet::new));
+    }
+}
@@ -0,0 +1,89 @@
+package de.MCmoderSD.helix.core;
+
+import de.MCmoderSD.encryption.core.Encryption;
+import de.MCmoderSD.helix.database.FileTokenStore;
+import de.MCmoderSD.helix.enums.Scope;
+import de.MCmoderSD.helix.objects.AuthToken;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.MCmoderSD.encryption.enums.Hash.SHA3_256;
+import static de.MCmoderSD.encryption.enums.Transformer.AES_ECB_PKCS5;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenWriterTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void coalescesConcurrentWritesAndFencesEachToken() {
+        var store = new CountingStore(dir.resolve("tokens.log"));
+        try {
+            var epochs = new ArrayList<Long>();
+            for (var id = 1; id <= 50; id++) {
+                store.addRefreshToken(token(id, "refresh-" + id));
+                epochs.add(store.acquireLease(id, "node", LEASE));
+            }
+
+            // First write goes out alone and blocks, the others overlap it, token 50 lost its lease
+            var writer = new TokenWriter(store, Duration.ofMillis(100));
+            var futures = new ArrayList<CompletableFuture<Boolean>>();
+            for (var id = 1; id <= 50; id++) futures.add(writer.write(token(id, "refresh-" + id + "b"), id == 50 ? epochs.get(id - 1) - 1 : epochs.get(id - 1)));
+            store.release.countDown();
+            for (var id = 1; id <= 50; id++) assertEquals(id != 50, futures.get(id - 1).join());
+            assertEquals(2, store.batches.get());
+
+            // Stored tokens are fenced per token
+            assertEquals("refresh-1b", store.getAuthToken(1).getRefreshToken());
+            assertEquals("refresh-49b", store.getAuthToken(49).getRefreshToken());
+            assertEquals("refresh-50", store.getAuthToken(50).getRefreshToken());
+        } finally {
+            store.close();
+        }
+    }
+
+    private static AuthToken token(int id, String refreshToken) {
+        return new AuthToken(id, "login", "access", refreshToken, Scope.toMask(EnumSet.of(Scope.BITS_READ)), null);
+    }
+
+    // Counts fenced batches
+    private static class CountingStore extends FileTokenStore {
+
+        // Attributes
+        private final AtomicInteger batches = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        // Constructor
+        private CountingStore(Path path) {
+            super(path, () -> new Encryption("secret", SHA3_256, AES_ECB_PKCS5));
+        }
+
+        @Override
+        public HashSet<Integer> addRefreshTokens(Collection<AuthToken> authTokens, Map<Integer, Long> epochs) {
+            if (batches.incrementAndGet() == 1) {
+                try {
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return super.addRefreshTokens(authTokens, epochs);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package de.MCmoderSD.helix.database;
+
+import de.MCmoderSD.encryption.core.Encryption;
+import de.MCmoderSD.helix.enums.Scope;
+import de.MCmoderSD.helix.objects.AuthToken;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.function.Supplier;
+
+import static de.MCmoderSD.encryption.enums.Hash.SHA3_256;
+import static de.MCmoderSD.encryption.enums.Transformer.AES_ECB_PKCS5;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileTokenStoreTest {
+
+    private static final Supplier<Encryption> ENCRYPTION = () -> new Encryption("secret", SHA3_256, AES_ECB_PKCS5);
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysLogAfterReopen() {
+        var path = dir.resolve("tokens.log");
+        var expiresAt = new Timestamp(System.currentTimeMillis() + 3_600_000);
+
+        var store = new FileTokenStore(path, ENCRYPTION);
+        store.addRefreshToken(token(1, "refresh-1", expiresAt));
+        store.addRefreshToken(token(2, "refresh-2", null));
+        store.addRefreshToken(token(1, "refresh-1b", expiresAt));
+        store.deleteRefreshToken(2);
+        store.close();
+
+        // Last entry per token wins, tombstones remove the token
+        var reopened = new FileTokenStore(path, ENCRYPTION);
+        try {
+            assertEquals(1, reopened.size());
+            assertEquals(1, reopened.getEntryCount());
+            assertNull(reopened.getAuthToken(2));
+            var authToken = reopened.getAuthToken(1);
+            assertNotNull(authToken);
+            assertEquals("refresh-1b", authToken.getRefreshToken());
+            assertEquals("access", authToken.getAccessToken());
+            assertEquals("login", authToken.getLogin());
+            assertEquals(EnumSet.of(Scope.BITS_READ, Scope.ANALYTICS_READ_GAMES), EnumSet.copyOf(authToken.getScopes()));
+            assertEquals(expiresAt, authToken.getNextRefresh());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void skipsCorruptEntries() throws IOException {
+        var path = dir.resolve("tokens.log");
+        var store = new FileTokenStore(path, ENCRYPTION);
+        store.addRefreshToken(token(1, "refresh-1", null));
+        store.close();
+
+        // Torn write at the end of the log
+        Files.writeString(path, "PUT\t2\tbroken\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        var reopened = new FileTokenStore(path, ENCRYPTION);
+        try {
+            assertEquals(1, reopened.size());
+            assertEquals("refresh-1", reopened.getAuthTokens().get(1).getRefreshToken());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void compactsOnceMostEntriesAreDead() throws IOException {
+        var path = dir.resolve("tokens.log");
+        var store = new FileTokenStore(path, ENCRYPTION, 8);
+        try {
+
+            // Live entries do not trigger compaction
+            for (var id = 1; id <= 4; id++) store.addRefreshToken(token(id, "refresh-" + id, null));
+            assertEquals(4, store.getEntryCount());
+
+            // Overwrites grow the log until less than half of it is live
+            for (var i = 0; i < 4; i++) store.addRefreshToken(token(1, "refresh-1-" + i, null));
+            assertEquals(8, store.getEntryCount());
+            store.addRefreshToken(token(1, "refresh-1-last", null));
+            assertEquals(4, store.getEntryCount());
+            assertEquals(4, Files.readAllLines(path, StandardCharsets.UTF_8).size());
+            assertFalse(Files.exists(path.resolveSibling("tokens.log.tmp")));
+
+            // Writes after compaction go to the new log
+            store.deleteRefreshToken(4);
+            assertEquals(5, Files.readAllLines(path, StandardCharsets.UTF_8).size());
+        } finally {
+            store.close();
+        }
+
+        var reopened = new FileTokenStore(path, ENCRYPTION);
+        try {
+            assertEquals(3, reopened.size());
+            assertEquals("refresh-1-last", reopened.getAuthToken(1).getRefreshToken());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void batchSurvivesCompaction() throws IOException {
+        var path = dir.resolve("tokens.log");
+        var store = new FileTokenStore(path, ENCRYPTION, 8);
+        try {
+
+            // One batch is one entry per token
+            var batch = new ArrayList<AuthToken>();
+            for (var id = 1; id <= 5; id++) batch.add(token(id, "refresh-" + id, null));
+            store.addRefreshTokens(batch);
+            assertEquals(5, store.getEntryCount());
+            assertEquals(5, Files.readAllLines(path, StandardCharsets.UTF_8).size());
+
+            // Overwrites grow the log until less than half of it is live
+            for (var round : new String[] {"a", "b"}) {
+                batch.clear();
+                for (var id = 1; id <= 5; id++) batch.add(token(id, "refresh-" + id + round, null));
+                store.addRefreshTokens(batch);
+            }
+            assertEquals(5, store.getEntryCount());
+            assertEquals(5, Files.readAllLines(path, StandardCharsets.UTF_8).size());
+        } finally {
+            store.close();
+        }
+
+        var reopened = new FileTokenStore(path, ENCRYPTION);
+        try {
+            assertEquals(5, reopened.size());
+            for (var id = 1; id <= 5; id++) assertEquals("refresh-" + id + "b", reopened.getAuthToken(id).getRefreshToken());
+            assertEquals("login", reopened.getAuthToken(3).getLogin());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void rejectsSecondOpenUntilClosed() {
+        var path = dir.resolve("tokens.log");
+        var store = new FileTokenStore(path, ENCRYPTION);
+        assertThrows(IllegalStateException.class, () -> new FileTokenStore(path, ENCRYPTION));
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.addRefreshToken(token(1, "refresh-1", null)));
+        new FileTokenStore(path, ENCRYPTION).close();
+    }
+
+    @Test
+    void fencesWritesByLeaseEpoch() {
+        var store = new FileTokenStore(dir.resolve("tokens.log"), ENCRYPTION);
+        try {
+            assertEquals(TokenStore.LEASE_MISSING, store.acquireLease(1, "node-a", LEASE));
+            store.addRefreshToken(token(1, "refresh-1", null));
+
+            // Unexpired leases are held, also for the owner
+            var epoch = store.acquireLease(1, "node-a", LEASE);
+            assertTrue(epoch > 0);
+            assertEquals(TokenStore.LEASE_HELD, store.acquireLease(1, "node-a", LEASE));
+            assertEquals(TokenStore.LEASE_HELD, store.acquireLease(1, "node-b", LEASE));
+
+            // Write with the current epoch frees the lease
+            assertTrue(store.addRefreshToken(token(1, "refresh-2", null), epoch));
+            var next = store.acquireLease(1, "node-b", LEASE);
+            assertEquals(epoch + 1, next);
+
+            // Stale epoch is rejected and keeps the stored token
+            assertFalse(store.addRefreshToken(token(1, "refresh-stale", null), epoch));
+            assertEquals("refresh-2", store.getAuthToken(1).getRefreshToken());
+
+            // Release only by the owner of the epoch
+            store.releaseLease(1, "node-a", next);
+            assertEquals(TokenStore.LEASE_HELD, store.acquireLease(1, "node-a", LEASE));
+            store.releaseLease(1, "node-b", next);
+            assertTrue(store.acquireLease(1, "node-a", LEASE) > next);
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    void upsertFencesOutRefreshInFlight() {
+        var store = new FileTokenStore(dir.resolve("tokens.log"), ENCRYPTION);
+        try {
+            store.addRefreshToken(token(1, "refresh-1", null));
+            var epoch = store.acquireLease(1, "node-a", LEASE);
+
+            // New grant from the OAuth callback while the refresh runs
+            store.addRefreshToken(token(1, "refresh-callback", null));
+            assertFalse(store.addRefreshToken(token(1, "refresh-2", null), epoch));
+            assertEquals("refresh-callback", store.getAuthToken(1).getRefreshToken());
+
+            // Upsert also frees the lease
+            assertTrue(store.acquireLease(1, "node-b", LEASE) > epoch);
+        } finally {
+            store.close();
+        }
+    }
+
+    private static AuthToken token(int id, String refreshToken, Timestamp expiresAt) {
+        return new AuthToken(id, "login", "access", refreshToken, Scope.toMask(EnumSet.of(Scope.BITS_READ, Scope.ANALYTICS_READ_GAMES)), expiresAt);
+    }
+}
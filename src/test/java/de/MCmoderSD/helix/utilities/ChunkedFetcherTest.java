@@ -0,0 +1,91 @@
+package de.MCmoderSD.helix.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedFetcherTest {
+
+    @Test
+    void partitionSplitsIntoFullChunksAndRemainder() {
+        var chunks = ChunkedFetcher.partition(IntStream.rangeClosed(1, 250).boxed().toList(), 100);
+        assertEquals(3, chunks.size());
+        assertEquals(100, chunks.get(0).size());
+        assertEquals(100, chunks.get(1).size());
+        assertEquals(50, chunks.get(2).size());
+        assertEquals(201, chunks.get(2).getFirst());
+    }
+
+    @Test
+    void partitionPrimitiveInput() {
+        var chunks = ChunkedFetcher.partition(new int[] {1, 2, 3, 4, 5}, 2);
+        assertEquals(3, chunks.size());
+        assertArrayEquals(new int[] {5}, chunks.get(2));
+    }
+
+    @Test
+    void partitionEmptyInput() {
+        assertTrue(ChunkedFetcher.partition(List.of(), 100).isEmpty());
+        assertTrue(ChunkedFetcher.fetch(List.<Integer>of(), 100, 4, chunk -> chunk).isEmpty());
+    }
+
+    @Test
+    void fetchKeepsChunkOrder() {
+        var input = IntStream.rangeClosed(1, 1000).boxed().toList();
+        var result = ChunkedFetcher.fetch(input, 100, 4, chunk -> {
+            sleep(chunk.getFirst() % 3);    // Finish out of order
+            return new ArrayList<>(chunk);
+        });
+        assertEquals(input, result);
+    }
+
+    @Test
+    void fetchPrimitiveInput() {
+        var result = ChunkedFetcher.fetch(new int[] {3, 1, 2}, 1, 2, chunk -> List.of(chunk[0] * 10));
+        assertEquals(List.of(30, 10, 20), result);
+    }
+
+    @Test
+    void fetchLimitsParallelism() {
+        var running = new AtomicInteger();
+        var peak = new AtomicInteger();
+        ChunkedFetcher.fetch(IntStream.range(0, 32).boxed().toList(), 1, 3, chunk -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(5);
+            running.decrementAndGet();
+            return chunk;
+        });
+        assertTrue(peak.get() <= 3, "Peak parallelism was " + peak.get());
+    }
+
+    @Test
+    void fetchRethrowsChunkFailure() {
+        var input = IntStream.range(0, 10).boxed().toList();
+        var e = assertThrows(IllegalStateException.class, () -> ChunkedFetcher.fetch(input, 2, 2, chunk -> {
+            if (chunk.contains(5)) throw new IllegalStateException("Chunk failed");
+            return chunk;
+        }));
+        assertEquals("Chunk failed", e.getMessage());
+    }
+
+    @Test
+    void fetchMapIndexesResults() {
+        var map = ChunkedFetcher.fetchMap(Arrays.asList("a", "bb", "ccc"), 2, 2, chunk -> chunk, String::length);
+        assertEquals(3, map.size());
+        assertEquals("bb", map.get(2));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package de.MCmoderSD.helix.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntMapTest {
+
+    @Test
+    void putGetAndReplace() {
+        var map = new IntMap<String>();
+        assertNull(map.put(42, "a"));
+        assertEquals("a", map.put(42, "b"));
+        assertEquals("b", map.get(42));
+        assertEquals(1, map.size());
+        assertNull(map.get(43));
+        assertFalse(map.containsKey(43));
+    }
+
+    @Test
+    void growsBeyondExpectedSize() {
+        var map = new IntMap<Integer>(2);
+        for (var i = 1; i <= 10_000; i++) map.put(i, i * 2);
+        assertEquals(10_000, map.size());
+        for (var i = 1; i <= 10_000; i++) assertEquals(i * 2, map.get(i));
+        assertEquals(10_000, map.keys().length);
+        assertEquals(10_000, map.values().size());
+    }
+
+    @Test
+    void collidingKeysShareProbeChain() {
+
+        // Keys landing in the same bucket of the initial table of 8 slots
+        var map = new IntMap<Integer>(4);
+        var keys = collidingKeys(3, 7);
+        for (var key : keys) map.put(key, key);
+        for (var key : keys) assertEquals(key, map.get(key));
+
+        // Removing the head of the chain keeps later entries reachable
+        assertEquals(keys[0], map.remove(keys[0]));
+        assertNull(map.get(keys[0]));
+        assertEquals(keys[1], map.get(keys[1]));
+        assertEquals(keys[2], map.get(keys[2]));
+        assertEquals(2, map.size());
+
+        // Freed slot is reused
+        map.put(keys[0], -1);
+        assertEquals(-1, map.get(keys[0]));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        var random = new Random(7);
+        var map = new IntMap<Integer>();
+        var expected = new HashMap<Integer, Integer>();
+        for (var i = 0; i < 50_000; i++) {
+            var key = 1 + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) assertEquals(expected.remove(key), map.remove(key));
+            else assertEquals(expected.put(key, i), map.put(key, i));
+        }
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        map.forEach((key, value) -> assertEquals(expected.get(key), value));
+    }
+
+    @Test
+    void rejectsEmptyKeyAndNullValue() {
+        var map = new IntMap<String>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, "a"));
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+        assertNull(map.get(0));
+        assertNull(map.remove(0));
+    }
+
+    @Test
+    void clearRemovesAllEntries() {
+        var map = new IntMap<String>();
+        map.put(1, "a");
+        map.put(2, "b");
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        map.put(1, "c");
+        assertEquals("c", map.get(1));
+    }
+
+    // Same bit spreading as IntMap
+    private static int[] collidingKeys(int count, int mask) {
+        var keys = new int[count];
+        var found = 0;
+        for (var key = 1; found < count; key++) {
+            var h = key * 0x9E3779B9;
+            if (((h ^ (h >>> 16)) & mask) == 0) keys[found++] = key;
+        }
+        return keys;
+    }
+}
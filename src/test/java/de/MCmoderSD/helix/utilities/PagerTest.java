@@ -0,0 +1,209 @@
+package de.MCmoderSD.helix.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagerTest {
+
+    @Test
+    void iteratesAllPagesInOrder() {
+        var fetches = new AtomicInteger();
+        var pager = new Pager<>(pages(5, 10, fetches));
+        var entries = new ArrayList<Integer>();
+        pager.forEach(entries::add);
+        assertEquals(IntStream.range(0, 50).boxed().toList(), entries);
+        assertEquals(5, fetches.get());
+    }
+
+    @Test
+    void streamRequestsPagesLazily() {
+        var fetches = new AtomicInteger();
+        var pager = new Pager<>(pages(Integer.MAX_VALUE, 10, fetches));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11), pager.stream().limit(12).toList());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void failedPageIsRethrown() {
+        var pager = new Pager<Integer>(cursor -> null);
+        assertThrows(IllegalStateException.class, () -> pager.iterator().hasNext());
+    }
+
+    @Test
+    void publisherDeliversAllEntries() throws Exception {
+        var subscriber = new TestSubscriber(Long.MAX_VALUE);
+        new Pager<>(pages(3, 10, new AtomicInteger())).subscribe(subscriber);
+        subscriber.done.get(5, TimeUnit.SECONDS);
+        assertEquals(IntStream.range(0, 30).boxed().toList(), subscriber.received);
+    }
+
+    @Test
+    void publisherStopsPagingWithoutDemand() throws Exception {
+        var fetches = new AtomicInteger();
+        var subscriber = new TestSubscriber(3);
+        new Pager<>(pages(Integer.MAX_VALUE, 10, fetches)).subscribe(subscriber);
+
+        // Paging blocks once the subscriber buffer is full
+        Thread.sleep(200);
+        var fetched = fetches.get();
+        assertTrue(fetched * 10 <= 3 + Flow.defaultBufferSize() + 10, "Fetched " + fetched + " pages");
+        Thread.sleep(100);
+        assertEquals(fetched, fetches.get());
+        assertEquals(3, subscriber.received.size());
+        subscriber.subscription.cancel();
+    }
+
+    @Test
+    void publisherStopsPagingOnCancel() throws Exception {
+        var fetches = new AtomicInteger();
+        var subscriber = new TestSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (received.size() == 25) subscription.cancel();
+            }
+        };
+        new Pager<>(pages(Integer.MAX_VALUE, 10, fetches)).subscribe(subscriber);
+
+        // No further pages are requested after cancelling
+        while (subscriber.received.size() < 25) Thread.sleep(10);
+        Thread.sleep(200);
+        var fetched = fetches.get();
+        Thread.sleep(100);
+        assertEquals(fetched, fetches.get());
+        assertFalse(subscriber.done.isDone());
+    }
+
+    @Test
+    void publisherSignalsFailure() {
+        var subscriber = new TestSubscriber(Long.MAX_VALUE);
+        new Pager<Integer>(cursor -> {
+            if (cursor != null) throw new IllegalStateException("Page failed");
+            return new Pager.Page<>(List.of(1, 2), "next");
+        }).subscribe(subscriber);
+        var e = assertThrows(Exception.class, () -> subscriber.done.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals(List.of(1, 2).subList(0, subscriber.received.size()), subscriber.received); // Buffered entries may be dropped on error
+    }
+
+    @Test
+    void pipelinedKeepsPageOrder() {
+        var fetches = new AtomicInteger();
+        var pager = Pager.<Integer, String>pipelined(pages(20, 10, fetches), page -> {
+            sleep(page.getFirst() % 3 * 5);   // Finish out of order
+            return page.stream().map(String::valueOf).toList();
+        }, 4);
+        assertEquals(IntStream.range(0, 200).mapToObj(String::valueOf).toList(), pager.stream().toList());
+        assertEquals(20, fetches.get());
+    }
+
+    @Test
+    void pipelinedLimitsPagesInFlight() {
+        var running = new AtomicInteger();
+        var peak = new AtomicInteger();
+        var pager = Pager.<Integer, Integer>pipelined(pages(16, 5, new AtomicInteger()), page -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(5);
+            running.decrementAndGet();
+            return page;
+        }, 3);
+        assertEquals(80, pager.stream().count());
+        assertTrue(peak.get() <= 3, "Peak pages in flight was " + peak.get());
+    }
+
+    @Test
+    void pipelinedStopsFetchingWhenNotConsumed() {
+        var fetches = new AtomicInteger();
+        var iterator = Pager.<Integer, Integer>pipelined(pages(Integer.MAX_VALUE, 10, fetches), page -> page, 2).iterator();
+        assertEquals(0, iterator.next());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void pipelinedUnwrapsResolveFailure() {
+        var pager = Pager.<Integer, Integer>pipelined(pages(3, 10, new AtomicInteger()), page -> {
+            if (page.getFirst() == 10) throw new IllegalArgumentException("Resolve failed");
+            return page;
+        }, 2);
+        var iterator = pager.iterator();
+        for (var i = 0; i < 10; i++) assertEquals(i, iterator.next());
+        var e = assertThrows(IllegalArgumentException.class, iterator::hasNext);
+        assertEquals("Resolve failed", e.getMessage());
+    }
+
+    @Test
+    void pipelinedSkipsResolvingEmptyPages() {
+        var resolves = new AtomicInteger();
+        var pager = Pager.<Integer, Integer>pipelined(cursor -> cursor == null ? new Pager.Page<>(List.of(), "1") : new Pager.Page<>(List.of(1), null), page -> {
+            resolves.incrementAndGet();
+            return page;
+        }, 2);
+        assertEquals(List.of(1), pager.stream().toList());
+        assertEquals(1, resolves.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Pages of consecutive integers, the cursor is the index of the next page
+    private static Function<String, Pager.Page<Integer>> pages(int count, int size, AtomicInteger fetches) {
+        return cursor -> {
+            fetches.incrementAndGet();
+            var index = cursor == null ? 0 : Integer.parseInt(cursor);
+            var items = IntStream.range(index * size, (index + 1) * size).boxed().toList();
+            return new Pager.Page<>(items, index + 1 < count ? String.valueOf(index + 1) : null);
+        };
+    }
+
+    // Requests a fixed number of entries up front
+    private static class TestSubscriber implements Flow.Subscriber<Integer> {
+
+        // Attributes
+        protected final List<Integer> received = new CopyOnWriteArrayList<>();
+        protected final CompletableFuture<Void> done = new CompletableFuture<>();
+        protected volatile Flow.Subscription subscription;
+        private final long demand;
+
+        // Constructor
+        private TestSubscriber(long demand) {
+            this.demand = demand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(demand);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+    }
+}
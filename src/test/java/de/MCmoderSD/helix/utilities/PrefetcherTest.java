@@ -0,0 +1,70 @@
+package de.MCmoderSD.helix.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefetcherTest {
+
+    @Test
+    void joinMergesAllBatches() {
+        var prefetcher = new Prefetcher<Integer, String>(PrefetcherTest::resolve, 2);
+        prefetcher.submit(keys(1, 2));
+        prefetcher.submit(keys(3));
+        prefetcher.submit(keys(4, 5));
+        prefetcher.submit(new HashSet<>());
+        var resolved = prefetcher.join();
+        assertEquals(5, resolved.size());
+        assertEquals("4", resolved.get(4));
+    }
+
+    @Test
+    void limitsBatchesInFlight() {
+        var running = new AtomicInteger();
+        var peak = new AtomicInteger();
+        var prefetcher = new Prefetcher<Integer, String>(keys -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(5);
+            running.decrementAndGet();
+            return resolve(keys);
+        }, 2);
+        for (var i = 1; i <= 20; i++) prefetcher.submit(keys(i));
+        assertEquals(20, prefetcher.join().size());
+        assertTrue(peak.get() <= 2, "Peak batches in flight was " + peak.get());
+    }
+
+    @Test
+    void unwrapsBatchFailure() {
+        var prefetcher = new Prefetcher<Integer, String>(keys -> {
+            if (keys.contains(2)) throw new IllegalStateException("Batch failed");
+            return resolve(keys);
+        }, 4);
+        prefetcher.submit(keys(1));
+        prefetcher.submit(keys(2));
+        var e = assertThrows(IllegalStateException.class, prefetcher::join);
+        assertEquals("Batch failed", e.getMessage());
+    }
+
+    private static HashMap<Integer, String> resolve(HashSet<Integer> keys) {
+        var map = new HashMap<Integer, String>();
+        for (var key : keys) map.put(key, String.valueOf(key));
+        return map;
+    }
+
+    private static HashSet<Integer> keys(Integer... keys) {
+        return new HashSet<>(List.of(keys));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package de.MCmoderSD.helix.utilities;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.twitch4j.helix.domain.User;
+
+import de.MCmoderSD.helix.objects.TwitchUser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleDiffTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void detectsAddedChangedAndRemovedAcrossPages() {
+        var cached = List.of(member(1, "a"), member(2, "b"), member(3, "c"), member(4, "d"));
+        var diff = diff(cached);
+
+        // User 5 is new, 2 changed, 4 is missing from every page
+        assertEquals(new HashSet<>(List.of(5)), diff.add(List.of(entry(1, "a"), entry(5, "e"))));
+        assertEquals(new HashSet<>(), diff.add(List.of(entry(2, "B"), entry(3, "c"))));
+        assertFalse(diff.isUnchanged());
+        assertEquals(List.of(entry(5, "e")), diff.getAdded());
+        assertEquals(List.of(entry(2, "B")), diff.getChanged());
+        assertEquals("b", diff.getCached(2).value);
+
+        // Patched entries replace cached ones, unseen ones are dropped
+        var patched = new ArrayList<Member>();
+        for (var entry : diff.getAdded()) patched.add(member(entry.id, entry.value));
+        for (var entry : diff.getChanged()) patched.add(new Member(diff.getCached(entry.id), entry.value));
+        assertEquals(new HashMap<>(Map.of(1, "a", 2, "B", 3, "c", 5, "e")), values(diff.apply(patched)));
+    }
+
+    @Test
+    void unchangedWhenEveryCachedEntryIsSeenAsIs() {
+        var diff = diff(List.of(member(1, "a"), member(2, "b")));
+        diff.add(List.of(entry(2, "b")));
+        assertFalse(diff.isUnchanged()); // User 1 not seen yet
+        diff.add(List.of(entry(1, "a")));
+        assertTrue(diff.isUnchanged());
+        assertEquals(values(List.of(member(1, "a"), member(2, "b"))), values(diff.apply(List.of())));
+    }
+
+    @Test
+    void removalAloneIsAChange() {
+        var diff = diff(List.of(member(1, "a"), member(2, "b")));
+        diff.add(List.of(entry(1, "a")));
+        assertFalse(diff.isUnchanged());
+        assertEquals(values(List.of(member(1, "a"))), values(diff.apply(List.of())));
+    }
+
+    @Test
+    void duplicatesAcrossPagesCountOnce() {
+        var diff = diff(List.of(member(1, "a")));
+
+        // Entry shifted to the next page while paging
+        assertEquals(new HashSet<>(List.of(2)), diff.add(List.of(entry(1, "a"), entry(2, "b"))));
+        assertEquals(new HashSet<>(), diff.add(List.of(entry(2, "b"))));
+        assertEquals(1, diff.getAdded().size());
+    }
+
+    @Test
+    void withoutCacheEverythingIsAdded() {
+        var diff = new RoleDiff<Entry, Member>(null, entry -> entry.id, (entry, member) -> entry.value.equals(member.value));
+        diff.add(List.of(entry(1, "a"), entry(2, "b")));
+        assertFalse(diff.isUnchanged());
+        assertEquals(2, diff.getAdded().size());
+        assertTrue(diff.getChanged().isEmpty());
+        var result = diff.apply(List.of(member(1, "a"), member(2, "b")), LinkedHashSet::newLinkedHashSet);
+        assertInstanceOf(LinkedHashSet.class, result);
+        assertEquals(2, result.size());
+    }
+
+    private static RoleDiff<Entry, Member> diff(List<Member> cached) {
+        return new RoleDiff<>(cached, entry -> entry.id, (entry, member) -> entry.value.equals(member.value));
+    }
+
+    private static HashMap<Integer, String> values(Iterable<Member> members) {
+        var map = new HashMap<Integer, String>();
+        for (var member : members) assertNull(map.put(member.getId(), member.value));
+        return map;
+    }
+
+    private static Entry entry(int id, String value) {
+        return new Entry(id, value);
+    }
+
+    private static Member member(int id, String value) {
+        try {
+            var json = "{\"id\":\"%d\",\"login\":\"user%d\",\"displayName\":\"User%d\",\"type\":\"\",\"broadcasterType\":\"\",\"description\":\"\",\"profileImageUrl\":\"\",\"offlineImageUrl\":\"\"}".formatted(id, id, id);
+            return new Member(new TwitchUser(MAPPER.readValue(json, User.class)), value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Entry read from Helix
+    private static class Entry {
+
+        // Attributes
+        private final int id;
+        private final String value;
+
+        // Constructor
+        private Entry(int id, String value) {
+            this.id = id;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Entry entry && id == entry.id && value.equals(entry.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id + value.hashCode();
+        }
+    }
+
+    // Cached role entry
+    private static class Member extends TwitchUser {
+
+        // Attributes
+        private final String value;
+
+        // Constructor
+        private Member(TwitchUser user, String value) {
+            super(user);
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package de.MCmoderSD.helix.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        var singleFlight = new SingleFlight();
+        var calls = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            // Leader blocks until all followers joined
+            var leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Followers join the call in flight
+            var followers = new ArrayList<Future<String>>();
+            for (var i = 0; i < 8; i++) followers.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                return "other";
+            })));
+            while (singleFlight.getInFlightCount() != 1) Thread.onSpinWait();
+            Thread.sleep(50);
+            release.countDown();
+
+            // All callers get the leader's result
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+            for (var follower : followers) assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void differentKeysRunSeparately() {
+        var singleFlight = new SingleFlight();
+        assertEquals("a", singleFlight.execute("a", () -> "a"));
+        assertEquals("b", singleFlight.execute("b", () -> "b"));
+    }
+
+    @Test
+    void failureIsPropagatedToAllCallers() throws Exception {
+        var singleFlight = new SingleFlight();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("Failed");
+            }), executor);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            var follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> "other"), executor);
+            Thread.sleep(50);
+            release.countDown();
+
+            // Both see the original exception type
+            for (var future : new CompletableFuture<?>[] {leader, follower}) {
+                var e = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+                assertEquals("Failed", e.getCause().getMessage());
+            }
+        }
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void failedCallIsNotCached() {
+        var singleFlight = new SingleFlight();
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("Failed");
+        }));
+        assertEquals("retry", singleFlight.execute("key", () -> "retry"));
+    }
+
+    @Test
+    void joinedCallersGetTheirOwnCopy() throws Exception {
+        var singleFlight = new SingleFlight();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                return new HashSet<>(Set.of(1, 2));
+            }, HashSet::new));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            var follower = executor.submit(() -> singleFlight.execute("key", () -> new HashSet<Integer>(), HashSet::new));
+            Thread.sleep(50);
+            release.countDown();
+
+            // Changes of one caller are not seen by the other
+            var leaderSet = leader.get(5, TimeUnit.SECONDS);
+            var followerSet = follower.get(5, TimeUnit.SECONDS);
+            assertNotSame(leaderSet, followerSet);
+            leaderSet.add(3);
+            followerSet.remove(1);
+            assertEquals(Set.of(1, 2, 3), leaderSet);
+            assertEquals(Set.of(2), followerSet);
+        }
+    }
+
+    @Test
+    void reentrantCallFailsInsteadOfDeadlocking() {
+        var singleFlight = new SingleFlight();
+        var e = assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> singleFlight.execute("key", () -> "inner")));
+        assertTrue(e.getMessage().contains("key"));
+        assertEquals(0, singleFlight.getInFlightCount());
+
+        // Other keys may be nested
+        assertEquals("inner", singleFlight.execute("outer", () -> singleFlight.execute("key", () -> "inner")));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}